@@ -2,10 +2,12 @@ package com.azkafadhli.belajarspringdata;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 
 @SpringBootApplication
-@EnableJpaAuditing
+// cache advice runs before the transaction advice, so cache hits never open a transaction
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class BelajarspringdataApplication {
 
 	public static void main(String[] args) {
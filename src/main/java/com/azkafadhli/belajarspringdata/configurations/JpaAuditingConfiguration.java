@@ -0,0 +1,11 @@
+package com.azkafadhli.belajarspringdata.configurations;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+
+// kept off the application class, so @WebMvcTest slices start without a JPA metamodel. updated_on is set on insert as
+// well, so a new entity is complete before the V8 trigger restamps it from the database clock
+@Configuration
+@EnableJpaAuditing(modifyOnCreate = true)
+public class JpaAuditingConfiguration {
+}
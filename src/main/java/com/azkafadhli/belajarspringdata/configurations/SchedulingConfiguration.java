@@ -0,0 +1,10 @@
+package com.azkafadhli.belajarspringdata.configurations;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// drives the periodic UserTagIndex reload
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
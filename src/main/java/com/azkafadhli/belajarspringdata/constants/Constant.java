@@ -3,5 +3,10 @@ package com.azkafadhli.belajarspringdata.constants;
 public class Constant {
     public static final String DEFAULT_PAGE_SIZE = "5";
     public static final String DEFAULT_PAGE_NUMBER = "1";
+    public static final int MAX_PAGE_SIZE = 1000;
     public static final String DEFAULT_SORT = "id,asc";
+    public static final String DEFAULT_TOTAL = "exact";
+    public static final String DEFAULT_MATCH = "exact";
+    public static final String DEFAULT_TAG_MATCH = "all";
+    public static final String USER_DETAILS_CACHE = "user-details";
 }
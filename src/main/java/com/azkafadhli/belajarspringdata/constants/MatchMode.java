@@ -0,0 +1,16 @@
+package com.azkafadhli.belajarspringdata.constants;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+
+public enum MatchMode {
+    EXACT, PREFIX, CONTAINS;
+
+    public static MatchMode from(String match) {
+        for (MatchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(match)) {
+                return mode;
+            }
+        }
+        throw new BadRequestException("match", "match must be one of exact, prefix, contains");
+    }
+}
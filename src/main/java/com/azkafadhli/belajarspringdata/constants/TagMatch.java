@@ -0,0 +1,16 @@
+package com.azkafadhli.belajarspringdata.constants;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+
+public enum TagMatch {
+    ALL, ANY;
+
+    public static TagMatch from(String match) {
+        for (TagMatch mode : values()) {
+            if (mode.name().equalsIgnoreCase(match)) {
+                return mode;
+            }
+        }
+        throw new BadRequestException("tag_match", "tag_match must be one of all, any");
+    }
+}
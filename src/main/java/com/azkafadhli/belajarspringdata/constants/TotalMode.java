@@ -0,0 +1,16 @@
+package com.azkafadhli.belajarspringdata.constants;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+
+public enum TotalMode {
+    NONE, ESTIMATED, EXACT;
+
+    public static TotalMode from(String total) {
+        for (TotalMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(total)) {
+                return mode;
+            }
+        }
+        throw new BadRequestException("total", "total must be one of none, estimated, exact");
+    }
+}
@@ -0,0 +1,27 @@
+package com.azkafadhli.belajarspringdata.controllers;
+
+import com.azkafadhli.belajarspringdata.dtos.responses.ImportResultDTO;
+import com.azkafadhli.belajarspringdata.services.IAddressService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("api/v1/addresses")
+public class AddressController {
+
+    @Autowired
+    IAddressService addressService;
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportResultDTO> importAddresses(InputStream body) throws IOException {
+        ImportResultDTO result = addressService.importAddresses(body);
+        return ResponseEntity.ok().body(result);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.azkafadhli.belajarspringdata.controllers;
+
+import com.azkafadhli.belajarspringdata.constants.Constant;
+import com.azkafadhli.belajarspringdata.constants.MatchMode;
+import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
+import com.azkafadhli.belajarspringdata.services.IReactiveUserService;
+import com.azkafadhli.belajarspringdata.utils.AuthorityParser;
+import com.azkafadhli.belajarspringdata.utils.PageAndSortMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.UUID;
+
+// read-only API on the R2DBC path; writes stay on api/v1/users
+@RestController
+@RequestMapping("api/v2/users")
+public class ReactiveUserController {
+
+    @Autowired
+    IReactiveUserService reactiveUserService;
+
+    @Autowired
+    Validator validator;
+
+    // with Accept: application/x-ndjson every row is written and flushed as soon as it is read,
+    // otherwise the rows are collected into a json array
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<UserDTO> getUsers(
+            @RequestParam(defaultValue = Constant.DEFAULT_PAGE_NUMBER, name="page") String inputPage,
+            @RequestParam(defaultValue = Constant.DEFAULT_PAGE_SIZE, name="limit") String inputLimit,
+            @RequestParam(required = false) String[] sort,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email,
+            @RequestParam(defaultValue = Constant.DEFAULT_MATCH) String match,
+            @RequestParam(required = false) String authority
+    ) {
+        GetUsersDTO getUsersDTO = new GetUsersDTO();
+        PageAndSortMapper.map(inputPage, inputLimit, sort, getUsersDTO);
+        getUsersDTO.setUsername(username);
+        getUsersDTO.setEmail(email);
+        getUsersDTO.setMatch(MatchMode.from(match));
+        getUsersDTO.setAuthority(AuthorityParser.parse(authority));
+        Set<ConstraintViolation<GetUsersDTO>> violations = validator.validate(getUsersDTO);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        return reactiveUserService.getUsers(getUsersDTO);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<UserDetailsDTO> getUserById(@PathVariable UUID id) {
+        return reactiveUserService.getUserById(id);
+    }
+
+}
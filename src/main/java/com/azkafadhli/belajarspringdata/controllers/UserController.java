@@ -1,20 +1,48 @@
 package com.azkafadhli.belajarspringdata.controllers;
 
 import com.azkafadhli.belajarspringdata.constants.Constant;
+import com.azkafadhli.belajarspringdata.constants.MatchMode;
+import com.azkafadhli.belajarspringdata.constants.TagMatch;
+import com.azkafadhli.belajarspringdata.constants.TotalMode;
+import com.azkafadhli.belajarspringdata.dtos.requests.AssignTagsDTO;
 import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
 import com.azkafadhli.belajarspringdata.dtos.requests.RegisterUserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.BatchRegistrationDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserChangesDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.UserListDTO;
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
 import com.azkafadhli.belajarspringdata.services.IUserService;
+import com.azkafadhli.belajarspringdata.utils.AuthorityParser;
 import com.azkafadhli.belajarspringdata.utils.PageAndSortMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
@@ -28,6 +56,15 @@ public class UserController {
     @Autowired
     Validator validator;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${app.batch-registration.max-size:1000}")
+    int maxBatchSize;
+
+    @Value("${app.change-feed.max-page-size:1000}")
+    int maxChangesPageSize;
+
     @PostMapping("/register")
     public ResponseEntity<String> register(@RequestBody RegisterUserDTO userRequest) {
         Set<ConstraintViolation<RegisterUserDTO>> violations = validator.validate((userRequest));
@@ -39,28 +76,139 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
     }
 
+    @PostMapping(value = "/register/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchRegistrationDTO> registerBatch(InputStream body) throws IOException {
+        BatchRegistrationDTO result = userService.addUsers(readBatch(body));
+        return ResponseEntity.ok().body(result);
+    }
+
+    // items are read one at a time, so an oversized batch is rejected at item max-size + 1 instead of after the
+    // whole array has been deserialized; null items are kept and reported per index by the service
+    private List<RegisterUserDTO> readBatch(InputStream body) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(RegisterUserDTO.class);
+        List<RegisterUserDTO> userRequests = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("users", "body must be a json array");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new BadRequestException("users", "body ends inside the array");
+                }
+                if (userRequests.size() == maxBatchSize) {
+                    throw new BadRequestException("users", "batch size must not exceed " + maxBatchSize);
+                }
+                userRequests.add(token == JsonToken.VALUE_NULL ? null : reader.readValue(parser));
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("users", "malformed json: " + e.getOriginalMessage());
+        }
+        return userRequests;
+    }
+
     @GetMapping
     public ResponseEntity<UserListDTO> getUsers(
             @RequestParam(defaultValue = Constant.DEFAULT_PAGE_NUMBER, name="page") String inputPage,
             @RequestParam(defaultValue = Constant.DEFAULT_PAGE_SIZE, name="limit") String inputLimit,
             @RequestParam(required = false)String[] sort,
             @RequestParam(required = false) String username,
-            @RequestParam(required = false) String email
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = Constant.DEFAULT_TOTAL) String total,
+            @RequestParam(defaultValue = Constant.DEFAULT_MATCH) String match,
+            @RequestParam(required = false) String authority,
+            @RequestParam(required = false) List<String> tags,
+            @RequestParam(defaultValue = Constant.DEFAULT_TAG_MATCH, name="tag_match") String tagMatch
     ) {
 
         GetUsersDTO getUsersDTO = new GetUsersDTO();
         PageAndSortMapper.map(inputPage, inputLimit, sort, getUsersDTO);
+        getUsersDTO.setTotal(TotalMode.from(total));
+        getUsersDTO.setUsername(username);
+        getUsersDTO.setEmail(email);
+        getUsersDTO.setMatch(MatchMode.from(match));
+        getUsersDTO.setAuthority(AuthorityParser.parse(authority));
+        Set<ConstraintViolation<GetUsersDTO>> violations = validator.validate(getUsersDTO);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        // tag queries are answered from the in-memory tag index in id order and do not combine with the column
+        // filters or a sort
+        if (tags != null && !tags.isEmpty()) {
+            if (after != null || sort != null || username != null || email != null || authority != null) {
+                throw new BadRequestException(
+                        "tags", "tags cannot be combined with after, sort, username, email or authority");
+            }
+            getUsersDTO.setTags(tags);
+            getUsersDTO.setTagMatch(TagMatch.from(tagMatch));
+            return new ResponseEntity<>(userService.getUsersByTags(getUsersDTO), HttpStatus.OK);
+        }
 
-        // TODO: filter by username, email
+        // passing `after` (empty for the first page) switches to keyset pagination
+        if (after != null) {
+            getUsersDTO.setAfter(after);
+            return new ResponseEntity<>(userService.getUsersAfter(getUsersDTO), HttpStatus.OK);
+        }
 
         UserListDTO users = userService.getUsers(getUsersDTO);
         return new ResponseEntity<>(users, HttpStatus.OK);
     }
 
+    @PutMapping("/{id}/tags")
+    public ResponseEntity<String> assignTags(@PathVariable UUID id, @RequestBody AssignTagsDTO assignTagsRequest) {
+        Set<ConstraintViolation<AssignTagsDTO>> violations = validator.validate(assignTagsRequest);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        userService.assignTags(id, assignTagsRequest.getTags());
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).body(null);
+    }
+
+    // users changed after the `since` watermark, oldest first; omit `since` to start from the beginning
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangesDTO> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        if (limit < 1 || limit > maxChangesPageSize) {
+            throw new BadRequestException("limit", "limit must be between 1 and " + maxChangesPageSize);
+        }
+        return ResponseEntity.ok().body(userService.getChanges(since, limit));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userService::exportUsers;
+        return ResponseEntity.ok().body(body);
+    }
+
+    // a single-column lookup answers If-None-Match / If-Modified-Since with 304 before the entity graph is loaded.
+    // checkNotModified writes the lookup's ETag and Last-Modified, they are replaced by those of the details actually
+    // served, which are newer when a write lands in between
     @GetMapping("/{id}")
-    public ResponseEntity<UserDetailsDTO> getUserById(@PathVariable UUID id) {
-        UserDetailsDTO user = userService.getUserById(id);
-        return ResponseEntity.ok().body(user);
+    public ResponseEntity<UserDetailsDTO> getUserById(@PathVariable UUID id, WebRequest request,
+                                                      HttpServletResponse response) {
+        LocalDateTime version = userService.getLastModified(id);
+        if (request.checkNotModified(etag(id, version), toInstant(version).toEpochMilli())) {
+            return null;
+        }
+
+        UserDetailsDTO user = userService.getUserById(id, version);
+        LocalDateTime served = user.getAudit().getLastModified();
+        response.setHeader(HttpHeaders.ETAG, etag(id, served));
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, toInstant(served).toEpochMilli());
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(user);
+    }
+
+    private static String etag(UUID id, LocalDateTime version) {
+        return "\"" + id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, toInstant(version)) + "\"";
+    }
+
+    private static Instant toInstant(LocalDateTime version) {
+        return version.atZone(ZoneId.systemDefault()).toInstant();
     }
 
 }
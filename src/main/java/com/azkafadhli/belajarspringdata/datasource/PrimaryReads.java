@@ -0,0 +1,38 @@
+package com.azkafadhli.belajarspringdata.datasource;
+
+import java.util.function.Supplier;
+
+// reads whose result outlives the request, such as cached details, warmed-up indexes or change feed watermarks, must
+// not come from a lagging replica; statements issued inside call() go to the primary even in a read-only transaction.
+// the connection is picked at the first statement, so the hint only has to be set inside the transaction
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> read) {
+        Boolean previous = REQUESTED.get();
+        REQUESTED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                REQUESTED.remove();
+            }
+        }
+    }
+
+    public static void run(Runnable read) {
+        call(() -> {
+            read.run();
+            return null;
+        });
+    }
+
+    static boolean isRequested() {
+        return REQUESTED.get() != null;
+    }
+
+}
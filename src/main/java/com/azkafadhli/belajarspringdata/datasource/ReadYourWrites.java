@@ -0,0 +1,75 @@
+package com.azkafadhli.belajarspringdata.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+// after a write, the client's reads go to the primary until the window has passed. the deadline travels in a cookie,
+// so it holds for the client's next requests on any instance; within one request it is kept on the thread
+public class ReadYourWrites {
+
+    public static final String COOKIE = "ryw_until";
+
+    private static class State {
+        long pinnedUntil;
+        boolean cookieWritten;
+    }
+
+    private final Duration window;
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    public ReadYourWrites(Duration window) {
+        this.window = window;
+    }
+
+    public void begin(HttpServletRequest request) {
+        State current = state.get();
+        if (request.getCookies() == null) {
+            return;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    current.pinnedUntil = Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ignored) {
+                    // a tampered cookie only costs the client its replica reads
+                }
+            }
+        }
+    }
+
+    public void end() {
+        state.remove();
+    }
+
+    public boolean isPinned() {
+        return state.get().pinnedUntil > System.currentTimeMillis();
+    }
+
+    public void markWrite() {
+        if (window.isZero()) {
+            return;
+        }
+        State current = state.get();
+        current.pinnedUntil = System.currentTimeMillis() + window.toMillis();
+        if (current.cookieWritten) {
+            return;
+        }
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                Cookie cookie = new Cookie(COOKIE, Long.toString(current.pinnedUntil));
+                cookie.setPath("/");
+                cookie.setHttpOnly(true);
+                cookie.setMaxAge((int) Math.max(1, window.toSeconds() + 1));
+                response.addCookie(cookie);
+                current.cookieWritten = true;
+            }
+        }
+    }
+
+}
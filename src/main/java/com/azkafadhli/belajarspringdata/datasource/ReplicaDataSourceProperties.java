@@ -0,0 +1,35 @@
+package com.azkafadhli.belajarspringdata.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// spring.datasource stays the primary; replicas are only used for read-only transactions
+@Getter
+@Setter
+@ConfigurationProperties("app.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    private Balancing balancing = Balancing.ROUND_ROBIN;
+
+    // how long a client keeps reading from the primary after it wrote, should cover the usual replication lag
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+
+    public enum Balancing { ROUND_ROBIN, LEAST_CONNECTIONS }
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+
+}
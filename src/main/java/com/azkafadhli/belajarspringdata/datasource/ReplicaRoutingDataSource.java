@@ -0,0 +1,89 @@
+package com.azkafadhli.belajarspringdata.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// read-only transactions go to a replica, everything else to the primary. must sit behind a
+// LazyConnectionDataSourceProxy: the transaction manager opens the connection before the read-only flag is
+// published, the proxy defers that until the first statement
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReplicaDataSourceProperties.Balancing balancing;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(
+            HikariDataSource primary,
+            List<HikariDataSource> replicas,
+            ReplicaDataSourceProperties.Balancing balancing,
+            ReadYourWrites readYourWrites
+    ) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.balancing = balancing;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            // without replicas every read already sees the write, so no client needs pinning
+            if (!replicas.isEmpty() && TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.markWrite();
+            }
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || PrimaryReads.isRequested() || readYourWrites.isPinned()) {
+            return PRIMARY;
+        }
+        return balancing == ReplicaDataSourceProperties.Balancing.LEAST_CONNECTIONS
+                ? leastConnections()
+                : Math.floorMod(next.getAndIncrement(), replicas.size());
+    }
+
+    private int leastConnections() {
+        int chosen = 0;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            HikariPoolMXBean pool = replicas.get(i).getHikariPoolMXBean();
+            int active = pool == null ? 0 : pool.getActiveConnections();
+            if (active < fewest) {
+                chosen = i;
+                fewest = active;
+            }
+        }
+        return chosen;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+}
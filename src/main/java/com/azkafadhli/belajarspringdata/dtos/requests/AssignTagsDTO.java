@@ -0,0 +1,21 @@
+package com.azkafadhli.belajarspringdata.dtos.requests;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+public class AssignTagsDTO implements Serializable {
+
+    @JsonProperty(value = "tags", required = true)
+    @NotEmpty(message = "tags is mandatory")
+    private List<@NotBlank(message = "tag name must not be blank") @Size(max = 255) String> tags;
+
+}
@@ -1,11 +1,23 @@
 package com.azkafadhli.belajarspringdata.dtos.requests;
 
+import com.azkafadhli.belajarspringdata.constants.MatchMode;
+import com.azkafadhli.belajarspringdata.constants.TagMatch;
+import com.azkafadhli.belajarspringdata.constants.TotalMode;
+import com.azkafadhli.belajarspringdata.entities.Authority;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 public class GetUsersDTO extends PaginationAndSortingDTO {
     private String email;
     private String username;
+    private String after;
+    private TotalMode total;
+    private MatchMode match;
+    private Authority authority;
+    private List<String> tags;
+    private TagMatch tagMatch;
 }
@@ -0,0 +1,20 @@
+package com.azkafadhli.belajarspringdata.dtos.requests;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class ImportAddressDTO implements Serializable {
+
+    @JsonProperty(value = "user_id", required = true)
+    private UUID userId;
+
+    @JsonProperty(required = true)
+    private String address;
+
+}
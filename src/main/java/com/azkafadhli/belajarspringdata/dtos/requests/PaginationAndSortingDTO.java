@@ -1,5 +1,7 @@
 package com.azkafadhli.belajarspringdata.dtos.requests;
 
+import com.azkafadhli.belajarspringdata.constants.Constant;
+import jakarta.validation.constraints.Max;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,6 +11,7 @@ import java.io.Serializable;
 @Setter
 public class PaginationAndSortingDTO implements Serializable {
     private int page;
+    @Max(value = Constant.MAX_PAGE_SIZE, message = "limit must not exceed " + Constant.MAX_PAGE_SIZE)
     private int limit;
     private String[] sort;
 }
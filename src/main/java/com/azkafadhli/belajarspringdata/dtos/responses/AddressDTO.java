@@ -0,0 +1,13 @@
+package com.azkafadhli.belajarspringdata.dtos.responses;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+public class AddressDTO implements Serializable {
+    private Long id;
+    private String address;
+}
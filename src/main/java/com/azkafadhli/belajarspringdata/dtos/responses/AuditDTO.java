@@ -1,5 +1,6 @@
 package com.azkafadhli.belajarspringdata.dtos.responses;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.Getter;
@@ -14,4 +15,10 @@ import java.time.LocalDateTime;
 public class AuditDTO implements Serializable {
     private LocalDateTime createdOn;
     private LocalDateTime updatedOn;
+
+    // same fallback as IUserRepository.findLastModifiedById, for rows that were never updated
+    @JsonIgnore
+    public LocalDateTime getLastModified() {
+        return updatedOn != null ? updatedOn : createdOn;
+    }
 }
@@ -0,0 +1,17 @@
+package com.azkafadhli.belajarspringdata.dtos.responses;
+
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+public class BatchItemErrorDTO implements Serializable {
+    private final int index;
+    private final List<ViolationDTO> violations;
+
+    public BatchItemErrorDTO(int index, List<ViolationDTO> violations) {
+        this.index = index;
+        this.violations = violations;
+    }
+}
@@ -0,0 +1,18 @@
+package com.azkafadhli.belajarspringdata.dtos.responses;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+@Getter
+public class BatchRegistrationDTO extends ResponseDTO {
+    private final int registered;
+    private final List<BatchItemErrorDTO> failures;
+
+    public BatchRegistrationDTO(int registered, List<BatchItemErrorDTO> failures) {
+        super(HttpStatus.OK.value(), failures.isEmpty() ? "success" : "partial");
+        this.registered = registered;
+        this.failures = failures;
+    }
+}
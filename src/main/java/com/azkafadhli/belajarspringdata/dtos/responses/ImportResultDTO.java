@@ -0,0 +1,14 @@
+package com.azkafadhli.belajarspringdata.dtos.responses;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class ImportResultDTO extends ResponseDTO {
+    private final long imported;
+
+    public ImportResultDTO(long imported) {
+        super(HttpStatus.OK.value(), "success");
+        this.imported = imported;
+    }
+}
@@ -1,22 +1,41 @@
 package com.azkafadhli.belajarspringdata.dtos.responses;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.Getter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.io.Serializable;
 
 @Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 public class PaginationDTO implements Serializable {
     private final int currentPage;
-    private final int totalPages;
-    private final long totalItems;
+    private final Integer totalPages;
+    private final Long totalItems;
+    private final boolean hasNext;
 
     public <T> PaginationDTO(Page<T> page) {
         this.currentPage = page.getNumber() + 1;
         this.totalPages = page.getTotalPages();
         this.totalItems = page.getTotalElements();
+        this.hasNext = page.hasNext();
+    }
+
+    public <T> PaginationDTO(Slice<T> slice) {
+        this.currentPage = slice.getNumber() + 1;
+        this.totalPages = null;
+        this.totalItems = null;
+        this.hasNext = slice.hasNext();
+    }
+
+    public <T> PaginationDTO(Slice<T> slice, long totalItems) {
+        this.currentPage = slice.getNumber() + 1;
+        this.totalPages = (int) Math.ceil((double) totalItems / slice.getSize());
+        this.totalItems = totalItems;
+        this.hasNext = slice.hasNext();
     }
 }
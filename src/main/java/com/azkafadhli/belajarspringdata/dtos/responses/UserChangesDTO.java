@@ -0,0 +1,24 @@
+package com.azkafadhli.belajarspringdata.dtos.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+public class UserChangesDTO extends ResponseDTO {
+    // pass back as `since` on the next call; unchanged when nothing new was found
+    @Getter
+    @JsonProperty("next_watermark")
+    private final String nextWatermark;
+
+    @Getter
+    @JsonProperty("has_more")
+    private final boolean hasMore;
+
+    public UserChangesDTO(List<UserExportDTO> users, String nextWatermark, boolean hasMore) {
+        super(HttpStatus.OK.value(), "success", users, null);
+        this.nextWatermark = nextWatermark;
+        this.hasMore = hasMore;
+    }
+}
@@ -1,8 +1,6 @@
 package com.azkafadhli.belajarspringdata.dtos.responses;
 
-import com.azkafadhli.belajarspringdata.entities.Address;
 import com.azkafadhli.belajarspringdata.entities.Authority;
-import com.azkafadhli.belajarspringdata.entities.UserIdentity;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 import lombok.Getter;
@@ -21,8 +19,8 @@ public class UserDetailsDTO implements Serializable {
     private String email;
     private String username;
     private Boolean isEnabled;
-    private List<Address> addresses;
+    private List<AddressDTO> addresses;
     private Set<Authority> authorities;
-    private UserIdentity userIdentity;
+    private UserIdentityDTO userIdentity;
     private AuditDTO audit;
 }
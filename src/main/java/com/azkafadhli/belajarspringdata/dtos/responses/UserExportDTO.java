@@ -0,0 +1,25 @@
+package com.azkafadhli.belajarspringdata.dtos.responses;
+
+import com.azkafadhli.belajarspringdata.entities.Authority;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+@Getter
+@AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class UserExportDTO implements Serializable {
+    private UUID id;
+    private String email;
+    private String username;
+    private Boolean isEnabled;
+    private Set<Authority> authorities;
+    private LocalDateTime createdOn;
+    private LocalDateTime updatedOn;
+}
@@ -0,0 +1,19 @@
+package com.azkafadhli.belajarspringdata.dtos.responses;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.sql.Date;
+
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class UserIdentityDTO implements Serializable {
+    private String nik;
+    private String firstName;
+    private String lastName;
+    private Date dob;
+}
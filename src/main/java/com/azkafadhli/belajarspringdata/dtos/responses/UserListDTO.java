@@ -1,11 +1,22 @@
 package com.azkafadhli.belajarspringdata.dtos.responses;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
 
 public class UserListDTO extends ResponseDTO{
+    @Getter
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
     public UserListDTO(List<UserDTO> users, PaginationDTO paginationDTO) {
         super(HttpStatus.OK.value(), "success", users, paginationDTO);
     }
+
+    public UserListDTO(List<UserDTO> users, String nextCursor) {
+        super(HttpStatus.OK.value(), "success", users, null);
+        this.nextCursor = nextCursor;
+    }
 }
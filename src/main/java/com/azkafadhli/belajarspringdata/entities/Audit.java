@@ -18,7 +18,7 @@ public class Audit {
     @CreatedDate
     private LocalDateTime createdOn;
 
-    @Column(name = "updated_on")
+    @Column(name = "updated_on", nullable = false)
     @LastModifiedDate
     private LocalDateTime updatedOn;
 
@@ -1,5 +1,16 @@
 package com.azkafadhli.belajarspringdata.entities;
 
+// bits are persisted in users.authority_mask, never reuse or renumber them
 public enum Authority {
-    READ, WRITE, UPDATE, DELETE
+    READ(1), WRITE(2), UPDATE(4), DELETE(8);
+
+    private final int bit;
+
+    Authority(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
 }
@@ -0,0 +1,61 @@
+package com.azkafadhli.belajarspringdata.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// stores Set<Authority> as one smallint, see V7__authority_mask.sql
+@Converter
+public class AuthorityMaskConverter implements AttributeConverter<Set<Authority>, Short> {
+
+    private static final int ALL_BITS = 0b1111;
+
+    @Override
+    public Short convertToDatabaseColumn(Set<Authority> authorities) {
+        return toMask(authorities);
+    }
+
+    @Override
+    public Set<Authority> convertToEntityAttribute(Short mask) {
+        return toAuthorities(mask);
+    }
+
+    public static short toMask(Set<Authority> authorities) {
+        int mask = 0;
+        if (authorities != null) {
+            for (Authority authority : authorities) {
+                mask |= authority.getBit();
+            }
+        }
+        return (short) mask;
+    }
+
+    public static Set<Authority> toAuthorities(Short mask) {
+        Set<Authority> authorities = EnumSet.noneOf(Authority.class);
+        if (mask != null) {
+            for (Authority authority : Authority.values()) {
+                if ((mask & authority.getBit()) != 0) {
+                    authorities.add(authority);
+                }
+            }
+        }
+        return authorities;
+    }
+
+    // with four bits there are only eight masks holding a given authority, so "has authority" is an IN list the
+    // btree index on authority_mask can serve, instead of a bitwise predicate that needs a scan
+    public static List<Short> masksContaining(Authority authority) {
+        List<Short> masks = new ArrayList<>();
+        for (int mask = 0; mask <= ALL_BITS; mask++) {
+            if ((mask & authority.getBit()) != 0) {
+                masks.add((short) mask);
+            }
+        }
+        return masks;
+    }
+
+}
@@ -1,10 +1,13 @@
 package com.azkafadhli.belajarspringdata.entities;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.util.List;
@@ -18,6 +21,10 @@ import java.util.UUID;
 @AllArgsConstructor
 @Data
 @EntityListeners(AuditingEntityListener.class)
+@NamedEntityGraph(name = "User.details", attributeNodes = {
+        @NamedAttributeNode("addresses"),
+        @NamedAttributeNode("userIdentity")
+})
 public class User {
 
     @Id
@@ -43,9 +50,16 @@ public class User {
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "user", cascade = CascadeType.ALL)
     private List<Address> addresses;
 
-    @Enumerated(EnumType.STRING)
+    @Convert(converter = AuthorityMaskConverter.class)
+    @Column(name = "authority_mask", nullable = false)
     private Set<Authority> authorities;
 
+    // read-only view of the same column for authority filters, writes go through authorities
+    @Column(name = "authority_mask", insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private short authorityMask;
+
     @OneToOne(mappedBy = "user", fetch = FetchType.LAZY)
     private UserIdentity userIdentity;
 
@@ -0,0 +1,13 @@
+package com.azkafadhli.belajarspringdata.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class BadRequestException extends RuntimeException {
+    private final String field;
+
+    public BadRequestException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+}
@@ -1,19 +1,29 @@
 package com.azkafadhli.belajarspringdata.exceptions;
 
+import com.azkafadhli.belajarspringdata.dtos.responses.ResponseDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.ValidationErrorDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.ViolationDTO;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class ErrorHandlingControllerAdvice {
+    // unique constraints from V2__add_relation.sql
+    private static final Map<String, String> UNIQUE_CONSTRAINT_FIELDS = Map.of(
+            "uk_6dotkott2kjsp8vw4d0m25fb7", "email",
+            "uk_r43af9ap4edm43mmtq01oddj6", "username"
+    );
+
     @ExceptionHandler(ConstraintViolationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ResponseBody
@@ -28,12 +38,45 @@ public class ErrorHandlingControllerAdvice {
         return errors;
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ValidationErrorDTO onBadRequestException(BadRequestException e) {
+        ValidationErrorDTO errors = new ValidationErrorDTO();
+        errors.getViolations().add(new ViolationDTO(e.getField(), e.getMessage()));
+        return errors;
+    }
+
+    @ExceptionHandler(NotFoundException.class)
+    @ResponseBody
+    public ResponseEntity<ResponseDTO<Void>> onNotFoundException(NotFoundException e) {
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ResponseDTO<>(HttpStatus.NOT_FOUND.value(), e.getMessage()));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseBody
+    public ResponseEntity<ResponseDTO<Void>> onServiceUnavailableException(ServiceUnavailableException e) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ResponseDTO<>(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage()));
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     @ResponseBody
     public ValidationErrorDTO onDataIntegrityViolationException(DataIntegrityViolationException e) {
         ValidationErrorDTO errors = new ValidationErrorDTO();
         ViolationDTO violationDTO = new ViolationDTO(e.getMessage());
+        if (e.getCause() instanceof org.hibernate.exception.ConstraintViolationException cause
+                && cause.getConstraintName() != null) {
+            String field = UNIQUE_CONSTRAINT_FIELDS.get(cause.getConstraintName().toLowerCase());
+            if (field != null) {
+                violationDTO = new ViolationDTO(field, field + " already used");
+            }
+        }
         errors.getViolations().add(violationDTO);
         return errors;
     }
@@ -0,0 +1,7 @@
+package com.azkafadhli.belajarspringdata.exceptions;
+
+public class NotFoundException extends RuntimeException {
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,59 @@
+package com.azkafadhli.belajarspringdata.mappers;
+
+import com.azkafadhli.belajarspringdata.dtos.requests.RegisterUserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.AddressDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.AuditDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserIdentityDTO;
+import com.azkafadhli.belajarspringdata.entities.Address;
+import com.azkafadhli.belajarspringdata.entities.Audit;
+import com.azkafadhli.belajarspringdata.entities.Authority;
+import com.azkafadhli.belajarspringdata.entities.AuthorityMaskConverter;
+import com.azkafadhli.belajarspringdata.entities.User;
+import com.azkafadhli.belajarspringdata.entities.UserIdentity;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import com.azkafadhli.belajarspringdata.repositories.reactive.UserRow;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.Set;
+
+// implementation is generated by mapstruct-processor at compile time, no reflection at runtime
+@Mapper(componentModel = "spring")
+public interface UserMapper {
+
+    UserDTO toUserDTO(User user);
+
+    UserDTO toUserDTO(UserSummary userSummary);
+
+    UserDetailsDTO toUserDetailsDTO(User user);
+
+    // addresses and identity are separate queries on the reactive path, see ReactiveUserService
+    @Mapping(target = "addresses", ignore = true)
+    @Mapping(target = "userIdentity", ignore = true)
+    @Mapping(target = "audit.createdOn", source = "createdOn")
+    @Mapping(target = "audit.updatedOn", source = "updatedOn")
+    @Mapping(target = "authorities", source = "authorityMask")
+    UserDetailsDTO toUserDetailsDTO(UserRow userRow);
+
+    AuditDTO toAuditDTO(Audit audit);
+
+    AddressDTO toAddressDTO(Address address);
+
+    UserIdentityDTO toUserIdentityDTO(UserIdentity userIdentity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "tags", ignore = true)
+    @Mapping(target = "addresses", ignore = true)
+    @Mapping(target = "authorities", ignore = true)
+    @Mapping(target = "authorityMask", ignore = true)
+    @Mapping(target = "userIdentity", ignore = true)
+    @Mapping(target = "audit", ignore = true)
+    User toUser(RegisterUserDTO registerUserDTO);
+
+    default Set<Authority> toAuthorities(Short authorityMask) {
+        return AuthorityMaskConverter.toAuthorities(authorityMask);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.azkafadhli.belajarspringdata.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+// counts the statements hibernate prepares on the current thread; registered through MetricsConfiguration,
+// a JDBC batch is prepared once and therefore counted once
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    public enum Kind { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    private final ThreadLocal<long[]> counts = ThreadLocal.withInitial(() -> new long[Kind.values().length]);
+
+    @Override
+    public String inspect(String sql) {
+        counts.get()[kindOf(sql).ordinal()]++;
+        return sql;
+    }
+
+    public long count(Kind kind) {
+        return counts.get()[kind.ordinal()];
+    }
+
+    public long total() {
+        long total = 0;
+        for (long count : counts.get()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public void reset() {
+        counts.remove();
+    }
+
+    private static Kind kindOf(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (statement.startsWith("select") || statement.startsWith("with")) {
+            return Kind.SELECT;
+        }
+        if (statement.startsWith("insert")) {
+            return Kind.INSERT;
+        }
+        if (statement.startsWith("update")) {
+            return Kind.UPDATE;
+        }
+        if (statement.startsWith("delete")) {
+            return Kind.DELETE;
+        }
+        return Kind.OTHER;
+    }
+
+}
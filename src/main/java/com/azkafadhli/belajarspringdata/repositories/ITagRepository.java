@@ -1,7 +1,37 @@
 package com.azkafadhli.belajarspringdata.repositories;
 
 import com.azkafadhli.belajarspringdata.entities.Tag;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserTag;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ITagRepository extends JpaRepository<Tag, Long> {
+
+    List<Tag> findByNameIn(Collection<String> names);
+
+    // concurrent assignments creating the same tag both succeed, the later insert is a no-op
+    @Modifying
+    @Query(value = "INSERT INTO tags (id, name) VALUES (nextval('tags_seq'), :name) ON CONFLICT (name) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_tags (user_id, tag_id) SELECT :userId, t.id FROM tags t WHERE t.name IN (:names) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int assignToUser(@Param("userId") UUID userId, @Param("names") Collection<String> names);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.azkafadhli.belajarspringdata.repositories.projections.UserTag(u.id, t.name) FROM User u JOIN u.tags t")
+    Stream<UserTag> streamUserTags();
+
 }
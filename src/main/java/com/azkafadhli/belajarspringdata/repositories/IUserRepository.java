@@ -1,22 +1,99 @@
 package com.azkafadhli.belajarspringdata.repositories;
 
+import com.azkafadhli.belajarspringdata.dtos.responses.UserExportDTO;
 import com.azkafadhli.belajarspringdata.entities.User;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface IUserRepository extends JpaRepository<User, String> {
+public interface IUserRepository extends JpaRepository<User, String>, IUserRepositoryCustom {
 
-    @Query("SELECT email, username FROM User u WHERE u.email = :emailOrUsername OR u.username = :emailOrUsername")
-    List<User> findByEmailOrUsername(@Param("emailOrUsername") String emailOrUsername, Pageable pageable);
+    @Query("SELECT new com.azkafadhli.belajarspringdata.repositories.projections.UserSummary(u.id, u.email, u.username) " +
+            "FROM User u WHERE u.email = :emailOrUsername OR u.username = :emailOrUsername")
+    List<UserSummary> findByEmailOrUsername(@Param("emailOrUsername") String emailOrUsername, Pageable pageable);
 
     boolean existsByEmailOrUsername(String email, String username);
 
+    List<UserSummary> findByEmailInOrUsernameIn(Collection<String> emails, Collection<String> usernames);
+
+    List<UserSummary> findByIdIn(Collection<UUID> ids);
+
     Optional<User> findById(UUID id);
 
+    @EntityGraph("User.details")
+    Optional<User> findDetailsById(UUID id);
+
+    // rows that were never updated fall back to created_on
+    @Query("SELECT COALESCE(u.audit.updatedOn, u.audit.createdOn) FROM User u WHERE u.id = :id")
+    Optional<LocalDateTime> findLastModifiedById(@Param("id") UUID id);
+
+    // bulk updates bypass auditing, so writes that only touch child rows bump updated_on through this; the value set
+    // here is replaced by users_stamp_updated_on (V8)
+    @Modifying
+    @Query("UPDATE User u SET u.audit.updatedOn = LOCAL DATETIME WHERE u.id IN :ids")
+    int touchUpdatedOn(@Param("ids") Collection<UUID> ids);
+
+    @Query(value = "SELECT new com.azkafadhli.belajarspringdata.repositories.projections.UserSummary(u.id, u.email, u.username) FROM User u",
+            countQuery = "SELECT count(u) FROM User u")
+    Page<UserSummary> findAllSummaries(Pageable pageable);
+
+    Slice<UserSummary> findAllBy(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserSummary> streamAllBy();
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.azkafadhli.belajarspringdata.dtos.responses.UserExportDTO(" +
+            "u.id, u.email, u.username, u.isEnabled, u.authorities, u.audit.createdOn, u.audit.updatedOn) FROM User u")
+    Stream<UserExportDTO> streamExport();
+
+    // the clock users_stamp_updated_on (V8) stamps updated_on with
+    @Query(value = "SELECT CAST(clock_timestamp() AS timestamp)", nativeQuery = true)
+    LocalDateTime currentTimestamp();
+
+    // the row comparison matches idx_users_updated_on_id, so each page is a range scan from the watermark
+    @Query("SELECT new com.azkafadhli.belajarspringdata.dtos.responses.UserExportDTO(" +
+            "u.id, u.email, u.username, u.isEnabled, u.authorities, u.audit.createdOn, u.audit.updatedOn) FROM User u " +
+            "WHERE (u.audit.updatedOn, u.id) > (:updatedOn, :id) AND u.audit.updatedOn <= :until " +
+            "ORDER BY u.audit.updatedOn, u.id")
+    List<UserExportDTO> findChanges(
+            @Param("updatedOn") LocalDateTime updatedOn,
+            @Param("id") UUID id,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass('users')", nativeQuery = true)
+    Long estimateCount();
+
+    Slice<UserSummary> findByIdGreaterThan(UUID id, Pageable pageable);
+
+    Slice<UserSummary> findByIdLessThan(UUID id, Pageable pageable);
+
+    Slice<UserSummary> findByEmailGreaterThan(String email, Pageable pageable);
+
+    Slice<UserSummary> findByEmailLessThan(String email, Pageable pageable);
+
+    Slice<UserSummary> findByUsernameGreaterThan(String username, Pageable pageable);
+
+    Slice<UserSummary> findByUsernameLessThan(String username, Pageable pageable);
+
 }
@@ -0,0 +1,14 @@
+package com.azkafadhli.belajarspringdata.repositories;
+
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import com.azkafadhli.belajarspringdata.utils.Cursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+public interface IUserRepositoryCustom {
+
+    Slice<UserSummary> findSummaries(UserFilter filter, Cursor after, Pageable pageable);
+
+    long countSummaries(UserFilter filter);
+
+}
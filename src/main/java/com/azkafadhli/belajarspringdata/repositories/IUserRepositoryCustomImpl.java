@@ -0,0 +1,89 @@
+package com.azkafadhli.belajarspringdata.repositories;
+
+import com.azkafadhli.belajarspringdata.constants.MatchMode;
+import com.azkafadhli.belajarspringdata.entities.AuthorityMaskConverter;
+import com.azkafadhli.belajarspringdata.entities.User;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import com.azkafadhli.belajarspringdata.utils.Cursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public class IUserRepositoryCustomImpl implements IUserRepositoryCustom {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public Slice<UserSummary> findSummaries(UserFilter filter, Cursor after, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummary> query = cb.createQuery(UserSummary.class);
+        Root<User> user = query.from(User.class);
+
+        List<Predicate> predicates = predicates(cb, user, filter);
+        if (after != null) {
+            predicates.add(seek(cb, user, after));
+        }
+        query.select(cb.construct(UserSummary.class, user.get("id"), user.get("email"), user.get("username")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), user, cb));
+
+        List<UserSummary> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public long countSummaries(UserFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> user = query.from(User.class);
+        query.select(cb.count(user)).where(predicates(cb, user, filter).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<Predicate> predicates(CriteriaBuilder cb, Root<User> user, UserFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.hasEmail()) {
+            predicates.add(matches(cb, user.get("email"), filter.getEmail(), filter.getMatch()));
+        }
+        if (filter.hasUsername()) {
+            predicates.add(matches(cb, user.get("username"), filter.getUsername(), filter.getMatch()));
+        }
+        if (filter.hasAuthority()) {
+            predicates.add(user.get("authorityMask").in(AuthorityMaskConverter.masksContaining(filter.getAuthority())));
+        }
+        return predicates;
+    }
+
+    // exact uses the unique indexes; prefix and contains compare lower(column), which is what the
+    // text_pattern_ops and gin_trgm_ops expression indexes in V4__user_filter_indexes.sql are built on
+    private Predicate matches(CriteriaBuilder cb, Path<String> column, String value, MatchMode match) {
+        String pattern = UserFilter.toPattern(value, match);
+        return match == null || match == MatchMode.EXACT
+                ? cb.equal(column, pattern)
+                : cb.like(cb.lower(column), pattern);
+    }
+
+    private Predicate seek(CriteriaBuilder cb, Root<User> user, Cursor after) {
+        boolean ascending = after.getDirection().isAscending();
+        if ("id".equals(after.getProperty())) {
+            Path<UUID> id = user.get("id");
+            return ascending ? cb.greaterThan(id, after.getId()) : cb.lessThan(id, after.getId());
+        }
+        Path<String> column = user.get(after.getProperty());
+        return ascending ? cb.greaterThan(column, after.getValue()) : cb.lessThan(column, after.getValue());
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.azkafadhli.belajarspringdata.repositories;
+
+import com.azkafadhli.belajarspringdata.constants.MatchMode;
+import com.azkafadhli.belajarspringdata.entities.Authority;
+import com.azkafadhli.belajarspringdata.utils.Validator;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class UserFilter {
+    private final String email;
+    private final String username;
+    private final MatchMode match;
+    private final Authority authority;
+
+    public boolean hasEmail() {
+        return !Validator.isStringEmptyNullBlank(email);
+    }
+
+    public boolean hasUsername() {
+        return !Validator.isStringEmptyNullBlank(username);
+    }
+
+    public boolean hasAuthority() {
+        return authority != null;
+    }
+
+    public boolean isEmpty() {
+        return !hasEmail() && !hasUsername() && !hasAuthority();
+    }
+
+    // exact keeps the value as is, prefix and contains become a lower-cased LIKE pattern
+    public static String toPattern(String value, MatchMode match) {
+        return switch (match == null ? MatchMode.EXACT : match) {
+            case PREFIX -> escapeLike(value.toLowerCase()) + "%";
+            case CONTAINS -> "%" + escapeLike(value.toLowerCase()) + "%";
+            default -> value;
+        };
+    }
+
+    // backslash is postgres' default LIKE escape character
+    private static String escapeLike(String value) {
+        return value
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,6 @@
+package com.azkafadhli.belajarspringdata.repositories.projections;
+
+import java.util.UUID;
+
+public record UserSummary(UUID id, String email, String username) {
+}
@@ -0,0 +1,8 @@
+package com.azkafadhli.belajarspringdata.repositories.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+
+import java.util.UUID;
+
+public interface IReactiveUserRepository extends R2dbcRepository<UserRow, UUID>, IReactiveUserRepositoryCustom {
+}
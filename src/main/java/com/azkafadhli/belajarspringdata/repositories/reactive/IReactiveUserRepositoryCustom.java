@@ -0,0 +1,21 @@
+package com.azkafadhli.belajarspringdata.repositories.reactive;
+
+import com.azkafadhli.belajarspringdata.dtos.responses.AddressDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserIdentityDTO;
+import com.azkafadhli.belajarspringdata.repositories.UserFilter;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface IReactiveUserRepositoryCustom {
+
+    Flux<UserSummary> findSummaries(UserFilter filter, Pageable pageable);
+
+    Flux<AddressDTO> findAddresses(UUID userId);
+
+    Mono<UserIdentityDTO> findIdentity(UUID userId);
+
+}
@@ -0,0 +1,119 @@
+package com.azkafadhli.belajarspringdata.repositories.reactive;
+
+import com.azkafadhli.belajarspringdata.constants.MatchMode;
+import com.azkafadhli.belajarspringdata.dtos.responses.AddressDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserIdentityDTO;
+import com.azkafadhli.belajarspringdata.entities.AuthorityMaskConverter;
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import com.azkafadhli.belajarspringdata.repositories.UserFilter;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+// plain SQL so filters compare lower(column) exactly like the JPA path and hit the same V4 indexes
+public class IReactiveUserRepositoryCustomImpl implements IReactiveUserRepositoryCustom {
+
+    // keyed by the property paths SortPlanner produces
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "id", "id",
+            "email", "email",
+            "username", "username",
+            "audit.createdOn", "created_on"
+    );
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    @Override
+    public Flux<UserSummary> findSummaries(UserFilter filter, Pageable pageable) {
+        StringBuilder sql = new StringBuilder("SELECT id, email, username FROM users");
+        Map<String, String> bindings = new LinkedHashMap<>();
+        if (filter.hasEmail()) {
+            bindings.put("email", UserFilter.toPattern(filter.getEmail(), filter.getMatch()));
+        }
+        if (filter.hasUsername()) {
+            bindings.put("username", UserFilter.toPattern(filter.getUsername(), filter.getMatch()));
+        }
+        if (!bindings.isEmpty()) {
+            StringJoiner conditions = new StringJoiner(" AND ", " WHERE ", "");
+            for (String column : bindings.keySet()) {
+                conditions.add(filter.getMatch() == null || filter.getMatch() == MatchMode.EXACT
+                        ? column + " = :" + column
+                        : "lower(" + column + ") LIKE :" + column);
+            }
+            sql.append(conditions);
+        }
+        if (filter.hasAuthority()) {
+            // masks are computed from the enum, never from input, so they are safe to inline
+            StringJoiner masks = new StringJoiner(", ", "authority_mask IN (", ")");
+            AuthorityMaskConverter.masksContaining(filter.getAuthority()).forEach(mask -> masks.add(mask.toString()));
+            sql.append(bindings.isEmpty() ? " WHERE " : " AND ").append(masks);
+        }
+        sql.append(orderBy(pageable.getSort()))
+                .append(" LIMIT ").append(pageable.getPageSize())
+                .append(" OFFSET ").append(pageable.getOffset());
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, String> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec
+                .map((row, metadata) -> new UserSummary(
+                        row.get("id", UUID.class),
+                        row.get("email", String.class),
+                        row.get("username", String.class)))
+                .all();
+    }
+
+    @Override
+    public Flux<AddressDTO> findAddresses(UUID userId) {
+        return databaseClient
+                .sql("SELECT id, address FROM addresses WHERE user_id = :userId ORDER BY id")
+                .bind("userId", userId)
+                .map((row, metadata) -> {
+                    AddressDTO addressDTO = new AddressDTO();
+                    addressDTO.setId(row.get("id", Long.class));
+                    addressDTO.setAddress(row.get("address", String.class));
+                    return addressDTO;
+                })
+                .all();
+    }
+
+    @Override
+    public Mono<UserIdentityDTO> findIdentity(UUID userId) {
+        return databaseClient
+                .sql("SELECT nik, first_name, last_name, dob FROM user_identities WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> {
+                    LocalDate dob = row.get("dob", LocalDate.class);
+                    UserIdentityDTO userIdentityDTO = new UserIdentityDTO();
+                    userIdentityDTO.setNik(row.get("nik", String.class));
+                    userIdentityDTO.setFirstName(row.get("first_name", String.class));
+                    userIdentityDTO.setLastName(row.get("last_name", String.class));
+                    userIdentityDTO.setDob(dob == null ? null : Date.valueOf(dob));
+                    return userIdentityDTO;
+                })
+                .one();
+    }
+
+    private String orderBy(Sort sort) {
+        StringJoiner orders = new StringJoiner(", ", " ORDER BY ", "");
+        for (Sort.Order order : sort) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new BadRequestException("sort", "cannot sort by " + order.getProperty());
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return sort.isSorted() ? orders.toString() : "";
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.azkafadhli.belajarspringdata.repositories.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// read model of the users table for the R2DBC path; writes stay on the JPA User entity
+@Getter
+@Setter
+@Table("users")
+public class UserRow {
+
+    @Id
+    private UUID id;
+
+    private String email;
+
+    private String username;
+
+    private Boolean isEnabled;
+
+    private Short authorityMask;
+
+    private LocalDateTime createdOn;
+
+    private LocalDateTime updatedOn;
+
+}
@@ -0,0 +1,98 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.dtos.requests.ImportAddressDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.ImportResultDTO;
+import com.azkafadhli.belajarspringdata.entities.Address;
+import com.azkafadhli.belajarspringdata.entities.User;
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import com.azkafadhli.belajarspringdata.repositories.IAddressRepository;
+import com.azkafadhli.belajarspringdata.repositories.IUserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Transactional(readOnly = true)
+@Service
+public class AddressService implements IAddressService {
+
+    @Autowired
+    IAddressRepository addressRepository;
+
+    @Autowired
+    IUserRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${app.address-import.flush-size:1000}")
+    int flushSize;
+
+    // addresses are part of the user details, so every imported user gets a new updated_on, which moves its cached
+    // details to a new version
+    @Override
+    @Transactional(readOnly = false)
+    public ImportResultDTO importAddresses(InputStream ndjson) throws IOException {
+        long imported = 0;
+        Set<UUID> touched = new HashSet<>();
+        try (MappingIterator<ImportAddressDTO> records = objectMapper
+                .readerFor(ImportAddressDTO.class)
+                .readValues(ndjson)) {
+            while (records.hasNextValue()) {
+                ImportAddressDTO record = records.nextValue();
+                if (record.getUserId() == null) {
+                    throw new BadRequestException("user_id", "user_id is mandatory (record " + imported + ")");
+                }
+
+                // reference only, the foreign key validates the user on insert
+                Address address = Address.builder()
+                        .address(record.getAddress())
+                        .user(entityManager.getReference(User.class, record.getUserId()))
+                        .build();
+                addressRepository.save(address);
+                touched.add(record.getUserId());
+
+                if (++imported % flushSize == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        touchUsers(touched);
+        return new ImportResultDTO(imported);
+    }
+
+    // touched right before commit rather than when the import starts, so a long import does not commit rows older than
+    // the change feed's settle time; IN lists are bounded by flush-size
+    private void touchUsers(Set<UUID> ids) {
+        List<UUID> chunk = new ArrayList<>(flushSize);
+        for (UUID id : ids) {
+            chunk.add(id);
+            if (chunk.size() == flushSize) {
+                userRepository.touchUpdatedOn(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            userRepository.touchUpdatedOn(chunk);
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.dtos.responses.ImportResultDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IAddressService {
+
+    ImportResultDTO importAddresses(InputStream ndjson) throws IOException;
+
+}
@@ -0,0 +1,16 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface IReactiveUserService {
+
+    Flux<UserDTO> getUsers(GetUsersDTO getUsersDTO);
+    Mono<UserDetailsDTO> getUserById(UUID id);
+
+}
@@ -2,15 +2,28 @@ package com.azkafadhli.belajarspringdata.services;
 
 import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
 import com.azkafadhli.belajarspringdata.dtos.requests.RegisterUserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.BatchRegistrationDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserChangesDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.UserListDTO;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 public interface IUserService {
 
     UserListDTO getUsers(GetUsersDTO getUsersDTO);
+    UserListDTO getUsersAfter(GetUsersDTO getUsersDTO);
+    UserListDTO getUsersByTags(GetUsersDTO getUsersDTO);
     void addUser(RegisterUserDTO userRequest);
-    UserDetailsDTO getUserById(UUID id);
+    BatchRegistrationDTO addUsers(List<RegisterUserDTO> userRequests);
+    UserDetailsDTO getUserById(UUID id, LocalDateTime version);
+    LocalDateTime getLastModified(UUID id);
+    void assignTags(UUID id, List<String> tags);
+    void exportUsers(OutputStream outputStream) throws IOException;
+    UserChangesDTO getChanges(String since, int limit);
 
 }
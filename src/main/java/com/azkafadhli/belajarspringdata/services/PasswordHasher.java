@@ -0,0 +1,105 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// hashing is CPU bound, so it runs on its own bounded pool instead of tomcat request threads;
+// a full queue is reported as 503 instead of letting registrations pile up
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+    private final Timer hashTimer;
+    private final Duration timeout;
+
+    public PasswordHasher(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.password-hashing.pool-size:2}") int poolSize,
+            @Value("${app.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.password-hashing.timeout:5s}") Duration timeout
+    ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.timeout = timeout;
+        this.pool = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "password.hashing");
+        this.hashTimer = Timer.builder("password.hash")
+                .description("Time spent computing a password hash, excluding queueing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public String hash(String rawPassword) {
+        return await(submit(rawPassword));
+    }
+
+    // keeps at most pool-size hashes of one batch in flight, so a single batch cannot fill the queue on its own
+    public List<String> hashAll(List<String> rawPasswords) {
+        int window = pool.getMaximumPoolSize();
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        try {
+            for (String rawPassword : rawPasswords) {
+                if (futures.size() - hashes.size() >= window) {
+                    hashes.add(await(futures.get(hashes.size())));
+                }
+                futures.add(submit(rawPassword));
+            }
+            while (hashes.size() < futures.size()) {
+                hashes.add(await(futures.get(hashes.size())));
+            }
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        return Collections.unmodifiableList(hashes);
+    }
+
+    private Future<String> submit(String rawPassword) {
+        try {
+            return executor.submit(() -> hashTimer.record(() -> passwordEncoder.encode(rawPassword)));
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("registration is busy, please retry later");
+        }
+    }
+
+    private String await(Future<String> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("registration is busy, please retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("registration was interrupted");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
+import com.azkafadhli.belajarspringdata.exceptions.NotFoundException;
+import com.azkafadhli.belajarspringdata.mappers.UserMapper;
+import com.azkafadhli.belajarspringdata.repositories.UserFilter;
+import com.azkafadhli.belajarspringdata.repositories.reactive.IReactiveUserRepository;
+import com.azkafadhli.belajarspringdata.utils.SortPlanner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// read-only counterpart of UserService on R2DBC; rows are emitted as the driver receives them, so slow clients
+// apply backpressure down to the connection instead of the result being buffered in memory
+@Service
+public class ReactiveUserService implements IReactiveUserService {
+
+    @Autowired
+    IReactiveUserRepository reactiveUserRepository;
+
+    @Autowired
+    UserMapper userMapper;
+
+    @Override
+    public Flux<UserDTO> getUsers(GetUsersDTO getUsersDTO) {
+        Sort sort = SortPlanner.plan(getUsersDTO.getSort());
+        Pageable pageable = PageRequest.of(getUsersDTO.getPage(), getUsersDTO.getLimit(), sort);
+        UserFilter filter = new UserFilter(
+                getUsersDTO.getEmail(), getUsersDTO.getUsername(), getUsersDTO.getMatch(), getUsersDTO.getAuthority());
+
+        return reactiveUserRepository
+                .findSummaries(filter, pageable)
+                .map(userMapper::toUserDTO);
+    }
+
+    // the three lookups run concurrently on separate connections
+    @Override
+    public Mono<UserDetailsDTO> getUserById(UUID id) {
+        return Mono.zip(
+                        reactiveUserRepository.findById(id),
+                        reactiveUserRepository.findAddresses(id).collectList(),
+                        reactiveUserRepository.findIdentity(id).map(Optional::of).defaultIfEmpty(Optional.empty())
+                )
+                .map(row -> {
+                    UserDetailsDTO userDetailsDTO = userMapper.toUserDetailsDTO(row.getT1());
+                    userDetailsDTO.setAddresses(row.getT2());
+                    userDetailsDTO.setUserIdentity(row.getT3().orElse(null));
+                    return userDetailsDTO;
+                })
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("user not found")));
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.datasource.PrimaryReads;
+import com.azkafadhli.belajarspringdata.repositories.IUserRepository;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+// false positives fall back to the existence query, false negatives are impossible for rows this instance has seen;
+// rows inserted by other instances are still caught by the unique constraints on insert
+@Component
+public class RegisteredUserFilter {
+
+    private static final String EMAIL_PREFIX = "e:";
+    private static final String USERNAME_PREFIX = "u:";
+
+    @Autowired
+    IUserRepository userRepository;
+
+    private final BloomFilter<CharSequence> filter;
+
+    private volatile boolean warmedUp = false;
+
+    public RegisteredUserFilter(
+            @Value("${app.registration-filter.expected-users:1000000}") long expectedUsers,
+            @Value("${app.registration-filter.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.filter = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8), expectedUsers * 2, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        // a user missed by a lagging replica would be reported as definitely new for good
+        PrimaryReads.run(() -> {
+            try (Stream<UserSummary> users = userRepository.streamAllBy()) {
+                users.forEach(user -> put(user.email(), user.username()));
+            }
+        });
+        warmedUp = true;
+    }
+
+    public boolean mightContain(String email, String username) {
+        return !warmedUp
+                || filter.mightContain(EMAIL_PREFIX + email)
+                || filter.mightContain(USERNAME_PREFIX + username);
+    }
+
+    public void put(String email, String username) {
+        filter.put(EMAIL_PREFIX + email);
+        filter.put(USERNAME_PREFIX + username);
+    }
+
+}
@@ -1,72 +1,446 @@
 package com.azkafadhli.belajarspringdata.services;
 
+import com.azkafadhli.belajarspringdata.constants.Constant;
+import com.azkafadhli.belajarspringdata.constants.TagMatch;
+import com.azkafadhli.belajarspringdata.constants.TotalMode;
+import com.azkafadhli.belajarspringdata.datasource.PrimaryReads;
 import com.azkafadhli.belajarspringdata.dtos.responses.PaginationDTO;
 import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
 import com.azkafadhli.belajarspringdata.dtos.requests.RegisterUserDTO;
-import com.azkafadhli.belajarspringdata.dtos.responses.AuditDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.BatchItemErrorDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.BatchRegistrationDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserChangesDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserExportDTO;
 import com.azkafadhli.belajarspringdata.dtos.responses.UserListDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.ViolationDTO;
 import com.azkafadhli.belajarspringdata.entities.Audit;
 import com.azkafadhli.belajarspringdata.entities.User;
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import com.azkafadhli.belajarspringdata.exceptions.NotFoundException;
+import com.azkafadhli.belajarspringdata.mappers.UserMapper;
+import com.azkafadhli.belajarspringdata.repositories.ITagRepository;
 import com.azkafadhli.belajarspringdata.repositories.IUserRepository;
-import com.azkafadhli.belajarspringdata.utils.Sorter;
-import org.modelmapper.ModelMapper;
+import com.azkafadhli.belajarspringdata.repositories.UserFilter;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import com.azkafadhli.belajarspringdata.utils.Cursor;
+import com.azkafadhli.belajarspringdata.utils.SortPlanner;
+import com.azkafadhli.belajarspringdata.utils.Validator;
+import com.azkafadhli.belajarspringdata.utils.Watermark;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import org.roaringbitmap.RoaringBitmap;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.UUID;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+@Timed(value = "user.service", description = "UserService method latency", histogram = true)
 @Transactional(readOnly = true)
 @Service
 public class UserService implements IUserService {
 
+    private static final int BATCH_INSERT_ATTEMPTS = 3;
+
     @Autowired
     IUserRepository userRepository;
 
     @Autowired
-    ModelMapper modelMapper;
+    UserMapper userMapper;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    RegisteredUserFilter registeredUserFilter;
+
+    @Autowired
+    jakarta.validation.Validator beanValidator;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PasswordHasher passwordHasher;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ITagRepository tagRepository;
+
+    @Autowired
+    UserTagIndex userTagIndex;
+
+    @Value("${app.change-feed.settle-time:5s}")
+    Duration changeFeedSettleTime;
 
     @Override
     public UserListDTO getUsers(GetUsersDTO getUsersDTO) {
-        Sort sort = Sort.by(Sorter.getSortOrder(getUsersDTO.getSort()));
+        Sort sort = SortPlanner.plan(getUsersDTO.getSort());
         Pageable pageable = PageRequest.of(getUsersDTO.getPage(), getUsersDTO.getLimit(), sort);
-        Page<User> userPage = userRepository.findAll(pageable);
-        PaginationDTO paginationDTO = new PaginationDTO(userPage);
+        UserFilter filter = toUserFilter(getUsersDTO);
+        TotalMode total = getUsersDTO.getTotal() == null ? TotalMode.EXACT : getUsersDTO.getTotal();
+        if (total == TotalMode.ESTIMATED && !filter.isEmpty()) {
+            // planner statistics describe the whole table, not a filtered subset
+            total = TotalMode.EXACT;
+        }
+
+        Slice<UserSummary> userPage;
+        PaginationDTO paginationDTO;
+        switch (total) {
+            case NONE -> {
+                userPage = filter.isEmpty()
+                        ? userRepository.findAllBy(pageable)
+                        : userRepository.findSummaries(filter, null, pageable);
+                paginationDTO = new PaginationDTO(userPage);
+            }
+            case ESTIMATED -> {
+                userPage = userRepository.findAllBy(pageable);
+                paginationDTO = new PaginationDTO(userPage, estimateTotal(userPage, pageable));
+            }
+            default -> {
+                Page<UserSummary> page = filter.isEmpty()
+                        ? userRepository.findAllSummaries(pageable)
+                        : PageableExecutionUtils.getPage(
+                                userRepository.findSummaries(filter, null, pageable).getContent(),
+                                pageable,
+                                () -> userRepository.countSummaries(filter));
+                userPage = page;
+                paginationDTO = new PaginationDTO(page);
+            }
+        }
         List<UserDTO> userList = userPage
                 .getContent()
                 .stream()
-                .map(user -> modelMapper.map(user, UserDTO.class))
+                .map(userMapper::toUserDTO)
                 .collect(Collectors.toList());
         return new UserListDTO(userList, paginationDTO);
     }
 
+    private UserFilter toUserFilter(GetUsersDTO getUsersDTO) {
+        return new UserFilter(
+                getUsersDTO.getEmail(), getUsersDTO.getUsername(), getUsersDTO.getMatch(), getUsersDTO.getAuthority());
+    }
+
+    // planner statistics are only refreshed by (auto)vacuum/analyze, so the slice bounds the estimate
+    private long estimateTotal(Slice<UserSummary> slice, Pageable pageable) {
+        long seen = pageable.getOffset() + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            return seen;
+        }
+        Long estimate = userRepository.estimateCount();
+        if (estimate == null || estimate < 0) {
+            return userRepository.count();
+        }
+        return Math.max(estimate, seen + 1);
+    }
+
     @Override
-    @Transactional(readOnly = false)
-    public void addUser(RegisterUserDTO userRequest) {
-        if (userRepository.existsByEmailOrUsername(userRequest.getEmail(), userRequest.getUsername())) {
-            throw new DataIntegrityViolationException("email or username already used");
+    public UserListDTO getUsersAfter(GetUsersDTO getUsersDTO) {
+        Cursor cursor = Validator.isStringEmptyNullBlank(getUsersDTO.getAfter())
+                ? null
+                : Cursor.decode(getUsersDTO.getAfter());
+        Sort.Order order = cursor != null
+                ? cursor.toOrder()
+                : SortPlanner.plan(getUsersDTO.getSort()).iterator().next();
+        if (!Cursor.SEEKABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new BadRequestException("sort", "cursor pagination only supports sorting by " + Cursor.SEEKABLE_PROPERTIES);
+        }
+
+        Pageable pageable = PageRequest.of(0, getUsersDTO.getLimit(), Sort.by(order));
+        UserFilter filter = toUserFilter(getUsersDTO);
+        Slice<UserSummary> userSlice;
+        if (!filter.isEmpty()) {
+            userSlice = userRepository.findSummaries(filter, cursor, pageable);
+        } else {
+            userSlice = cursor == null ? userRepository.findAllBy(pageable) : seek(cursor, pageable);
         }
+        List<UserDTO> userList = userSlice
+                .getContent()
+                .stream()
+                .map(userMapper::toUserDTO)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (userSlice.hasNext()) {
+            UserSummary last = userSlice.getContent().get(userSlice.getNumberOfElements() - 1);
+            nextCursor = Cursor.of(order, last).encode();
+        }
+        return new UserListDTO(userList, nextCursor);
+    }
+
+    // matching users come back in index order and the total is the bitmap cardinality, so no join or count query runs;
+    // the page itself is one primary key lookup
+    @Override
+    public UserListDTO getUsersByTags(GetUsersDTO getUsersDTO) {
+        TagMatch match = getUsersDTO.getTagMatch() == null ? TagMatch.ALL : getUsersDTO.getTagMatch();
+        RoaringBitmap matched = userTagIndex.match(getUsersDTO.getTags(), match);
+        Pageable pageable = PageRequest.of(getUsersDTO.getPage(), getUsersDTO.getLimit());
+        int total = matched.getCardinality();
+
+        List<UUID> ids = userTagIndex.page(matched, pageable.getOffset(), pageable.getPageSize());
+        Map<UUID, UserSummary> summaries = ids.isEmpty()
+                ? Map.of()
+                : userRepository.findByIdIn(ids).stream().collect(Collectors.toMap(UserSummary::id, summary -> summary));
+        List<UserSummary> page = ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
 
-        User user = modelMapper.map(userRequest, User.class);
+        List<UserDTO> userList = page
+                .stream()
+                .map(userMapper::toUserDTO)
+                .collect(Collectors.toList());
+        return new UserListDTO(userList, new PaginationDTO(new PageImpl<>(page, pageable, total)));
+    }
+
+    // email and username are unique, so seeking on them alone is served by their unique indexes
+    private Slice<UserSummary> seek(Cursor cursor, Pageable pageable) {
+        boolean ascending = cursor.getDirection().isAscending();
+        return switch (cursor.getProperty()) {
+            case "email" -> ascending
+                    ? userRepository.findByEmailGreaterThan(cursor.getValue(), pageable)
+                    : userRepository.findByEmailLessThan(cursor.getValue(), pageable);
+            case "username" -> ascending
+                    ? userRepository.findByUsernameGreaterThan(cursor.getValue(), pageable)
+                    : userRepository.findByUsernameLessThan(cursor.getValue(), pageable);
+            default -> ascending
+                    ? userRepository.findByIdGreaterThan(cursor.getId(), pageable)
+                    : userRepository.findByIdLessThan(cursor.getId(), pageable);
+        };
+    }
+
+    // registrations hash passwords before the write transaction opens and only touch the database inside it, so a
+    // busy hashing pool never holds a pooled connection; an already-used email or username costs one wasted hash
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void addUser(RegisterUserDTO userRequest) {
+        User user = userMapper.toUser(userRequest);
+        user.setPassword(passwordHasher.hash(userRequest.getPassword()));
         user.setAudit(new Audit());
-        userRepository.save(user);
+        transactionTemplate.executeWithoutResult(status -> {
+            // definitely-new registrations skip the existence query, the unique constraints still guard the insert
+            if (registeredUserFilter.mightContain(userRequest.getEmail(), userRequest.getUsername())
+                    && userRepository.existsByEmailOrUsername(userRequest.getEmail(), userRequest.getUsername())) {
+                throw new DataIntegrityViolationException("email or username already used");
+            }
+            userRepository.saveAndFlush(user);
+        });
+        registeredUserFilter.put(user.getEmail(), user.getUsername());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchRegistrationDTO addUsers(List<RegisterUserDTO> userRequests) {
+        List<BatchItemErrorDTO> failures = new ArrayList<>();
+        Map<Integer, User> candidates = new LinkedHashMap<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        for (int i = 0; i < userRequests.size(); i++) {
+            RegisterUserDTO userRequest = userRequests.get(i);
+            if (userRequest == null) {
+                failures.add(new BatchItemErrorDTO(i, List.of(new ViolationDTO("must not be null"))));
+                continue;
+            }
+            List<ViolationDTO> violations = beanValidator.validate(userRequest)
+                    .stream()
+                    .map(violation -> new ViolationDTO(violation.getPropertyPath().toString(), violation.getMessage()))
+                    .collect(Collectors.toList());
+            if (violations.isEmpty()) {
+                if (emails.contains(userRequest.getEmail())) {
+                    violations.add(new ViolationDTO("email", "email is duplicated in this batch"));
+                }
+                if (usernames.contains(userRequest.getUsername())) {
+                    violations.add(new ViolationDTO("username", "username is duplicated in this batch"));
+                }
+            }
+            if (violations.isEmpty()) {
+                emails.add(userRequest.getEmail());
+                usernames.add(userRequest.getUsername());
+                User user = userMapper.toUser(userRequest);
+                user.setAudit(new Audit());
+                candidates.put(i, user);
+            } else {
+                failures.add(new BatchItemErrorDTO(i, violations));
+            }
+        }
+
+        List<User> hashed = new ArrayList<>(candidates.values());
+        List<String> passwordHashes = passwordHasher.hashAll(hashed.stream().map(User::getPassword).toList());
+        for (int i = 0; i < hashed.size(); i++) {
+            hashed.get(i).setPassword(passwordHashes.get(i));
+        }
+
+        // inserts are grouped into JDBC batches of hibernate.jdbc.batch_size. a registration committed by another
+        // request between the lookup and the flush fails the whole transaction on the unique constraints, so the
+        // lookup is repeated and the colliding items are reported like any other already used email or username
+        List<User> users = null;
+        List<BatchItemErrorDTO> conflicts = new ArrayList<>();
+        for (int attempt = 1; users == null; attempt++) {
+            conflicts.clear();
+            try {
+                users = insertCandidates(candidates, emails, usernames, conflicts);
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == BATCH_INSERT_ATTEMPTS) {
+                    throw e;
+                }
+                // the rolled back flush already handed out ids
+                candidates.values().forEach(user -> user.setId(null));
+            }
+        }
+        failures.addAll(conflicts);
+        users.forEach(user -> registeredUserFilter.put(user.getEmail(), user.getUsername()));
+
+        failures.sort(Comparator.comparingInt(BatchItemErrorDTO::getIndex));
+        return new BatchRegistrationDTO(users.size(), failures);
+    }
+
+    private List<User> insertCandidates(Map<Integer, User> candidates, Set<String> emails, Set<String> usernames,
+                                        List<BatchItemErrorDTO> failures) {
+        return transactionTemplate.execute(status -> {
+            Set<String> usedEmails = new HashSet<>();
+            Set<String> usedUsernames = new HashSet<>();
+            if (!candidates.isEmpty()) {
+                for (UserSummary existing : userRepository.findByEmailInOrUsernameIn(emails, usernames)) {
+                    usedEmails.add(existing.email());
+                    usedUsernames.add(existing.username());
+                }
+            }
+
+            List<User> accepted = new ArrayList<>();
+            for (Map.Entry<Integer, User> candidate : candidates.entrySet()) {
+                User user = candidate.getValue();
+                List<ViolationDTO> violations = new ArrayList<>();
+                if (usedEmails.contains(user.getEmail())) {
+                    violations.add(new ViolationDTO("email", "email already used"));
+                }
+                if (usedUsernames.contains(user.getUsername())) {
+                    violations.add(new ViolationDTO("username", "username already used"));
+                }
+                if (violations.isEmpty()) {
+                    accepted.add(user);
+                } else {
+                    failures.add(new BatchItemErrorDTO(candidate.getKey(), violations));
+                }
+            }
+            return userRepository.saveAllAndFlush(accepted);
+        });
     }
 
+    // entries are keyed by id and version, and a load is stored under the version it actually read: a load racing a
+    // write, here or on another instance, can only fill an entry nobody asks for any more, and superseded versions
+    // age out with the cache spec. a miss is a plain lookup and put rather than a synchronized load, which would run
+    // inside ConcurrentHashMap.compute and pin virtual threads for the whole query
     @Override
-    public UserDetailsDTO getUserById(UUID id) {
-        User user = userRepository
-                .findById(id)
-                .orElseThrow(() -> new RuntimeException("user not found"));
+    public UserDetailsDTO getUserById(UUID id, LocalDateTime version) {
+        Cache cache = cacheManager.getCache(Constant.USER_DETAILS_CACHE);
+        UserDetailsDTO cached = cache.get(new UserDetailsKey(id, version), UserDetailsDTO.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        // a replica may not have the asked version yet
+        UserDetailsDTO user = PrimaryReads.call(() -> userMapper.toUserDetailsDTO(userRepository
+                .findDetailsById(id)
+                .orElseThrow(() -> new NotFoundException("user not found"))));
+        cache.put(new UserDetailsKey(id, user.getAudit().getLastModified()), user);
+        return user;
+    }
+
+    // from the primary like the details themselves, a replica's older version would answer 304 for stale details
+    @Override
+    public LocalDateTime getLastModified(UUID id) {
+        return PrimaryReads.call(() -> userRepository
+                .findLastModifiedById(id)
+                .orElseThrow(() -> new NotFoundException("user not found")));
+    }
+
+    // tag and join rows are inserted directly, so the users of an existing tag are never loaded; the index is only
+    // updated once the rows are committed
+    @Override
+    @Transactional
+    public void assignTags(UUID id, List<String> tags) {
+        if (userRepository.findLastModifiedById(id).isEmpty()) {
+            throw new NotFoundException("user not found");
+        }
+        Set<String> names = new LinkedHashSet<>(tags);
+        // sorted, so two assignments creating overlapping new tags wait on each other instead of deadlocking
+        Set<String> missing = new TreeSet<>(names);
+        tagRepository.findByNameIn(names).forEach(tag -> missing.remove(tag.getName()));
+        missing.forEach(tagRepository::insertIfAbsent);
+        tagRepository.assignToUser(id, names);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userTagIndex.add(id, names);
+            }
+        });
+    }
+
+    // rows are DTO projections read through a server-side cursor, so nothing accumulates in the persistence context
+    @Override
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper
+                .writerFor(UserExportDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        try (Stream<UserExportDTO> users = userRepository.streamExport();
+             SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+            Iterator<UserExportDTO> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                sequenceWriter.write(iterator.next());
+            }
+        }
+        outputStream.write('\n');
+    }
 
-        UserDetailsDTO userDetailsDTO = modelMapper.map(user, UserDetailsDTO.class);
-        userDetailsDTO.setAudit(modelMapper.map(user.getAudit(), AuditDTO.class));
+    // updated_on is stamped before commit, so a slow transaction can commit a row older than one already returned;
+    // rows younger than the settle time are held back so the watermark never skips past them. the cutoff comes from
+    // the database clock that stamps updated_on, and both it and the page are read from the primary, replica lag
+    // would otherwise eat into the settle time
+    @Override
+    public UserChangesDTO getChanges(String since, int limit) {
+        Watermark from = Validator.isStringEmptyNullBlank(since) ? Watermark.START : Watermark.decode(since);
+        List<UserExportDTO> changes = PrimaryReads.call(() -> {
+            LocalDateTime until = userRepository.currentTimestamp().minus(changeFeedSettleTime);
+            return userRepository.findChanges(from.getUpdatedOn(), from.getId(), until, PageRequest.of(0, limit + 1));
+        });
+
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        Watermark watermark = from;
+        if (!changes.isEmpty()) {
+            UserExportDTO last = changes.get(changes.size() - 1);
+            watermark = new Watermark(last.getUpdatedOn(), last.getId());
+        }
+        return new UserChangesDTO(changes, watermark.encode(), hasMore);
+    }
 
-        return userDetailsDTO;
+    private record UserDetailsKey(UUID id, LocalDateTime version) {
     }
 }
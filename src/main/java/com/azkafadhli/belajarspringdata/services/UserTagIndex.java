@@ -0,0 +1,148 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.constants.TagMatch;
+import com.azkafadhli.belajarspringdata.datasource.PrimaryReads;
+import com.azkafadhli.belajarspringdata.exceptions.ServiceUnavailableException;
+import com.azkafadhli.belajarspringdata.repositories.ITagRepository;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserTag;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// one compressed bitmap of user ordinals per tag, so all/any combinations are bitmap and/or instead of join + group by.
+// only tagged users get an ordinal, and an ordinal is never reassigned. published bitmaps are never mutated: writers
+// copy, add and swap under a lock, readers use whatever is currently published. assignments made on this instance
+// show up once committed; those made on other instances only show up after the next reload from user_tags, every
+// app.tag-index.refresh-interval
+@Component
+public class UserTagIndex {
+
+    // postgres compares uuids byte by byte, UUID.compareTo compares signed longs
+    private static final Comparator<UUID> BY_ID = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    @Autowired
+    ITagRepository tagRepository;
+
+    private final Map<String, RoaringBitmap> bitmaps = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> ordinals = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile UUID[] users = new UUID[1024];
+    private volatile boolean warmedUp = false;
+
+    // the reload holds the write lock for the whole scan, so an assignment committed meanwhile is applied after it
+    // rather than lost; tags without users any more are dropped
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.tag-index.refresh-interval:PT5M}",
+            initialDelayString = "${app.tag-index.refresh-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        Map<String, RoaringBitmap> loaded = new HashMap<>();
+        writeLock.lock();
+        try {
+            // the index lives until restart, a lagging replica would leave it missing tags for good
+            PrimaryReads.run(() -> {
+                try (Stream<UserTag> userTags = tagRepository.streamUserTags()) {
+                    userTags.forEach(userTag -> loaded
+                            .computeIfAbsent(userTag.tagName(), name -> new RoaringBitmap())
+                            .add(ordinal(userTag.userId())));
+                }
+            });
+            loaded.values().forEach(RoaringBitmap::runOptimize);
+            bitmaps.keySet().retainAll(loaded.keySet());
+            bitmaps.putAll(loaded);
+            warmedUp = true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void add(UUID userId, Collection<String> tagNames) {
+        writeLock.lock();
+        try {
+            int ordinal = ordinal(userId);
+            for (String tagName : tagNames) {
+                RoaringBitmap bitmap = bitmaps.getOrDefault(tagName, new RoaringBitmap()).clone();
+                bitmap.add(ordinal);
+                bitmaps.put(tagName, bitmap);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public RoaringBitmap match(Collection<String> tagNames, TagMatch match) {
+        if (!warmedUp) {
+            throw new ServiceUnavailableException("tag index is warming up");
+        }
+        List<RoaringBitmap> matched = new ArrayList<>(tagNames.size());
+        for (String tagName : new HashSet<>(tagNames)) {
+            RoaringBitmap bitmap = bitmaps.get(tagName);
+            if (bitmap != null) {
+                matched.add(bitmap);
+            } else if (match == TagMatch.ALL) {
+                return new RoaringBitmap();
+            }
+        }
+        if (matched.isEmpty()) {
+            return new RoaringBitmap();
+        }
+        return match == TagMatch.ALL
+                ? FastAggregation.and(matched.iterator())
+                : FastAggregation.or(matched.iterator());
+    }
+
+    // pages are cut in id order, which unlike ordinals is the same on every instance and across restarts; only the
+    // first offset + limit ids of the match are kept while scanning it
+    public List<UUID> page(RoaringBitmap matched, long offset, int limit) {
+        int end = (int) Math.min(matched.getLongCardinality(), offset + limit);
+        if (offset >= end) {
+            return List.of();
+        }
+        UUID[] current = users;
+        PriorityQueue<UUID> smallest = new PriorityQueue<>(end, BY_ID.reversed());
+        PeekableIntIterator ordinals = matched.getIntIterator();
+        while (ordinals.hasNext()) {
+            UUID userId = current[ordinals.next()];
+            if (smallest.size() < end) {
+                smallest.add(userId);
+            } else if (BY_ID.compare(userId, smallest.peek()) < 0) {
+                smallest.poll();
+                smallest.add(userId);
+            }
+        }
+        List<UUID> sorted = new ArrayList<>(smallest);
+        sorted.sort(BY_ID);
+        return sorted.subList((int) offset, end);
+    }
+
+    // callers hold writeLock
+    private int ordinal(UUID userId) {
+        Integer existing = ordinals.get(userId);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = ordinals.size();
+        UUID[] current = users;
+        if (ordinal == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[ordinal] = userId;
+        users = current;
+        ordinals.put(userId, ordinal);
+        return ordinal;
+    }
+
+}
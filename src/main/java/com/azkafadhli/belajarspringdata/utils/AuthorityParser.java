@@ -0,0 +1,19 @@
+package com.azkafadhli.belajarspringdata.utils;
+
+import com.azkafadhli.belajarspringdata.entities.Authority;
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+
+public class AuthorityParser {
+    // blank means no authority filter
+    public static Authority parse(String authority) {
+        if (Validator.isStringEmptyNullBlank(authority)) {
+            return null;
+        }
+        for (Authority value : Authority.values()) {
+            if (value.name().equalsIgnoreCase(authority.trim())) {
+                return value;
+            }
+        }
+        throw new BadRequestException("authority", "authority must be one of read, write, update, delete");
+    }
+}
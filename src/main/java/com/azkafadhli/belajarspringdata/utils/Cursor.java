@@ -0,0 +1,55 @@
+package com.azkafadhli.belajarspringdata.utils;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+// opaque keyset token: "<property>,<direction>,<id>,<value>" encoded as url-safe base64
+@Getter
+@AllArgsConstructor
+public class Cursor {
+    public static final Set<String> SEEKABLE_PROPERTIES = Set.of("id", "email", "username");
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final UUID id;
+    private final String value;
+
+    public static Cursor of(Sort.Order order, UserSummary user) {
+        String value = switch (order.getProperty()) {
+            case "email" -> user.email();
+            case "username" -> user.username();
+            default -> user.id().toString();
+        };
+        return new Cursor(order.getProperty(), order.getDirection(), user.id(), value);
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(",", 4);
+            if (parts.length != 4 || !SEEKABLE_PROPERTIES.contains(parts[0])) {
+                throw new BadRequestException("after", "invalid cursor");
+            }
+            return new Cursor(parts[0], Sort.Direction.fromString(parts[1]), UUID.fromString(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("after", "invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = property + "," + direction.name() + "," + id + "," + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Sort.Order toOrder() {
+        return new Sort.Order(direction, property);
+    }
+}
@@ -0,0 +1,43 @@
+package com.azkafadhli.belajarspringdata.utils;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// only sorts backed by an index are allowed, so "ORDER BY ... LIMIT n" is an index scan that stops after n rows.
+// the leading order picks the index; orders after it are dropped because no index covers them. non-unique keys get
+// id in the same direction as a tiebreaker, unique keys are already a total order
+public class SortPlanner {
+
+    private record Sortable(String path, boolean unique) {
+    }
+
+    private static final Map<String, Sortable> SORTABLE = Map.of(
+            "id", new Sortable("id", true),                      // users primary key
+            "email", new Sortable("email", true),                // uk_6dotkott2kjsp8vw4d0m25fb7
+            "username", new Sortable("username", true),          // uk_r43af9ap4edm43mmtq01oddj6
+            "createdOn", new Sortable("audit.createdOn", false)  // idx_users_created_on_id
+    );
+
+    public static Sort plan(String[] sorts) {
+        List<Sort.Order> orders = Sorter.getSortOrder(sorts);
+        for (Sort.Order order : orders) {
+            if (!SORTABLE.containsKey(order.getProperty())) {
+                throw new BadRequestException("sort",
+                        "cannot sort by " + order.getProperty() + ", sortable properties are " + new TreeSet<>(SORTABLE.keySet()));
+            }
+        }
+        if (orders.isEmpty()) {
+            return Sort.by(Sort.Direction.ASC, "id");
+        }
+
+        Sort.Order leading = orders.get(0);
+        Sortable sortable = SORTABLE.get(leading.getProperty());
+        Sort sort = Sort.by(leading.getDirection(), sortable.path());
+        return sortable.unique() ? sort : sort.and(Sort.by(leading.getDirection(), "id"));
+    }
+
+}
@@ -7,23 +7,36 @@ import java.util.List;
 
 
 // reference: https://www.bezkoder.com/spring-data-sort-multiple-columns/
+// parses ?sort=email,desc&sort=id,asc (spring binds ["email,desc", "id,asc"]) and ?sort=email,desc (["email", "desc"]);
+// a missing direction means ascending
 public class Sorter {
     private static Sort.Direction getSortDirection(String direction) {
-        if (direction.equals("desc")) {
+        if (direction.trim().equalsIgnoreCase("desc")) {
             return Sort.Direction.DESC;
         }
         return Sort.Direction.ASC;
     }
+
+    private static boolean isDirection(String value) {
+        return value.trim().equalsIgnoreCase("asc") || value.trim().equalsIgnoreCase("desc");
+    }
+
     public static List<Sort.Order> getSortOrder(String[] sorts) {
         List<Sort.Order> sortOrder = new ArrayList<>();
-        if (sorts[0].contains(",")) {
-            for (String sort: sorts) {
-                String[] _sort = sort.split(",");
-                Sort.Order order = new Sort.Order(Sorter.getSortDirection(_sort[1]), _sort[0]);
-                sortOrder.add(order);
+        if (sorts == null || sorts.length == 0) {
+            return sortOrder;
+        }
+        if (sorts.length == 2 && !sorts[0].contains(",") && isDirection(sorts[1])) {
+            sortOrder.add(new Sort.Order(getSortDirection(sorts[1]), sorts[0].trim()));
+            return sortOrder;
+        }
+        for (String sort: sorts) {
+            String[] _sort = sort.split(",");
+            if (_sort.length == 0 || _sort[0].isBlank()) {
+                continue;
             }
-        } else {
-            sortOrder.add(new Sort.Order(getSortDirection(sorts[1]), sorts[0]));
+            Sort.Direction direction = _sort.length > 1 ? getSortDirection(_sort[1]) : Sort.Direction.ASC;
+            sortOrder.add(new Sort.Order(direction, _sort[0].trim()));
         }
         return sortOrder;
     }
@@ -0,0 +1,39 @@
+package com.azkafadhli.belajarspringdata.utils;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+// opaque change-feed position: "<updated_on>,<id>" of the last row a client has seen, encoded as url-safe base64
+@Getter
+@AllArgsConstructor
+public class Watermark {
+    public static final Watermark START = new Watermark(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0, 0));
+
+    private final LocalDateTime updatedOn;
+    private final UUID id;
+
+    public static Watermark decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(",", 2);
+            if (parts.length != 2) {
+                throw new BadRequestException("since", "invalid watermark");
+            }
+            return new Watermark(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("since", "invalid watermark");
+        }
+    }
+
+    public String encode() {
+        String raw = updatedOn + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,45 @@
+-- load-test dataset, only on the classpath:db/loadtest location enabled by the loadtest profile;
+-- runs after every migrate but inserts only what is missing, so restarts keep the existing data
+-- sizes come from spring.flyway.placeholders in application-loadtest.yml
+
+insert into tags (id, name)
+select nextval('tags_seq'), 'load_tag_' || i
+from generate_series(1, ${seed-tags}) i
+where not exists (select 1 from tags where name = 'load_tag_' || i);
+
+insert into users (id, created_on, updated_on, authority_mask, email, is_enabled, password, username)
+select
+  gen_random_uuid(),
+  now() - (i || ' minutes')::interval,
+  now() - (i || ' minutes')::interval,
+  1,
+  'load_' || i || '@mail.com',
+  true,
+  -- seeded users are only read, nothing logs in with this value
+  'not-a-password-hash',
+  'load_' || i
+from generate_series(1, ${seed-users}) i
+where not exists (select 1 from users where username = 'load_' || i);
+
+insert into user_identities (user_id, dob, nik, first_name, last_name)
+select u.id, date '1990-01-01' + (abs(hashtext(u.username)) % 10000), lpad(substr(u.username, 6), 16, '0'), 'Load', u.username
+from users u
+where u.username like 'load\_%'
+  and not exists (select 1 from user_identities ui where ui.user_id = u.id);
+
+insert into addresses (id, address, user_id)
+select nextval('addresses_seq'), 'Jalan Load ' || n || ', ' || u.username, u.id
+from users u
+cross join generate_series(1, ${seed-addresses-per-user}) n
+where u.username like 'load\_%'
+  and not exists (select 1 from addresses a where a.user_id = u.id);
+
+insert into user_tags (user_id, tag_id)
+select u.id, t.id
+from users u
+join tags t on t.name = 'load_tag_' || (1 + abs(hashtext(u.username)) % ${seed-tags})
+where u.username like 'load\_%'
+  and not exists (select 1 from user_tags ut where ut.user_id = u.id);
+
+analyze users;
+analyze addresses;
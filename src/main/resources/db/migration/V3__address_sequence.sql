@@ -0,0 +1,12 @@
+create sequence addresses_seq start with 1 increment by 50;
+
+-- hibernate's pooled optimizer treats each value as the top of a 50-id block, so the first block has to end
+-- 50 past the highest existing id to start right after it
+select setval('addresses_seq', coalesce((select max(id) from addresses), 0) + 50, false);
+
+alter table
+  if exists addresses
+alter column
+  id drop default;
+
+drop sequence if exists addresses_id_seq;
@@ -0,0 +1,9 @@
+create extension if not exists pg_trgm;
+
+create index idx_users_lower_email_prefix on users (lower(email) text_pattern_ops);
+
+create index idx_users_lower_username_prefix on users (lower(username) text_pattern_ops);
+
+create index idx_users_lower_email_trgm on users using gin (lower(email) gin_trgm_ops);
+
+create index idx_users_lower_username_trgm on users using gin (lower(username) gin_trgm_ops);
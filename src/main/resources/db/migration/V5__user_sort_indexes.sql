@@ -0,0 +1,2 @@
+-- serves "ORDER BY created_on, id" in both directions; id, email and username already have unique indexes
+create index idx_users_created_on_id on users (created_on, id);
@@ -0,0 +1,2 @@
+-- tags are addressed by name in the api, so a name must map to a single row
+create unique index uk_tags_name on tags (name);
@@ -0,0 +1,13 @@
+-- bits match Authority: READ = 1, WRITE = 2, UPDATE = 4, DELETE = 8
+alter table users add column authority_mask smallint not null default 0;
+
+update users set authority_mask =
+    (case when 'READ' = any (authorities) then 1 else 0 end)
+  | (case when 'WRITE' = any (authorities) then 2 else 0 end)
+  | (case when 'UPDATE' = any (authorities) then 4 else 0 end)
+  | (case when 'DELETE' = any (authorities) then 8 else 0 end)
+where authorities is not null;
+
+alter table users drop column authorities;
+
+create index idx_users_authority_mask on users (authority_mask);
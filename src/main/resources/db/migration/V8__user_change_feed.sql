@@ -0,0 +1,19 @@
+-- every row gets a watermark
+update users set updated_on = created_on where updated_on is null;
+
+alter table users alter column updated_on set not null;
+
+-- updated_on is stamped from the database clock at write time, overriding whatever jpa auditing or plain sql sent,
+-- so it is on the same clock as the change feed's settle cutoff no matter which instance wrote the row
+create function users_stamp_updated_on() returns trigger as $$
+begin
+    new.updated_on := clock_timestamp();
+    return new;
+end;
+$$ language plpgsql;
+
+create trigger users_stamp_updated_on before insert or update on users
+    for each row execute function users_stamp_updated_on();
+
+-- serves "(updated_on, id) > (?, ?) ORDER BY updated_on, id LIMIT n" for the change feed
+create index idx_users_updated_on_id on users (updated_on, id);
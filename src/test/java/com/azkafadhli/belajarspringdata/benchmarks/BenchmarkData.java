@@ -0,0 +1,45 @@
+package com.azkafadhli.belajarspringdata.benchmarks;
+
+import com.azkafadhli.belajarspringdata.dtos.requests.RegisterUserDTO;
+import com.azkafadhli.belajarspringdata.entities.Address;
+import com.azkafadhli.belajarspringdata.entities.Audit;
+import com.azkafadhli.belajarspringdata.entities.Authority;
+import com.azkafadhli.belajarspringdata.entities.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+
+class BenchmarkData {
+
+    static User user(int i) {
+        Audit audit = new Audit();
+        audit.setCreatedOn(LocalDateTime.now());
+        audit.setUpdatedOn(LocalDateTime.now());
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email("user" + i + "@mail.com")
+                .username("user_" + i)
+                .password("Secret#" + i)
+                .isEnabled(true)
+                .authorities(EnumSet.of(Authority.READ, Authority.WRITE))
+                .audit(audit)
+                .build();
+        List<Address> addresses = new ArrayList<>();
+        addresses.add(Address.builder().id((long) i).address("Jl. Benchmark No. " + i).user(user).build());
+        user.setAddresses(addresses);
+        return user;
+    }
+
+    static RegisterUserDTO registration(int i) {
+        RegisterUserDTO registration = new RegisterUserDTO();
+        registration.setEmail("user" + i + "@mail.com");
+        registration.setUsername("user_" + i);
+        registration.setPassword("Secret#" + i);
+        registration.setIsEnabled(true);
+        return registration;
+    }
+
+}
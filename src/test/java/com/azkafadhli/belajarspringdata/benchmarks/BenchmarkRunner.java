@@ -0,0 +1,26 @@
+package com.azkafadhli.belajarspringdata.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+// usage: BenchmarkRunner <result.json> [include regex]
+// the default include skips the benchmarks.database package, which needs a running postgres
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        File result = new File(args.length > 0 ? args[0] : "target/jmh/result.json");
+        result.getParentFile().mkdirs();
+        new Runner(new OptionsBuilder()
+                .include(args.length > 1 ? args[1] : BenchmarkRunner.class.getPackageName().replace(".", "\\.") + "\\.\\w+Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getPath())
+                .build()).run();
+    }
+
+}
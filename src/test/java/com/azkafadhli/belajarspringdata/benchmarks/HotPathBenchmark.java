@@ -0,0 +1,57 @@
+package com.azkafadhli.belajarspringdata.benchmarks;
+
+import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
+import com.azkafadhli.belajarspringdata.utils.PageAndSortMapper;
+import com.azkafadhli.belajarspringdata.utils.Sorter;
+import com.azkafadhli.belajarspringdata.utils.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+
+    String[] singleSort = new String[]{"username", "desc"};
+    String[] multiSort = new String[]{"username,desc", "email,asc", "id,asc"};
+
+    @Benchmark
+    public GetUsersDTO pageAndSortMapperDefaults() {
+        GetUsersDTO getUsersDTO = new GetUsersDTO();
+        PageAndSortMapper.map(null, null, null, getUsersDTO);
+        return getUsersDTO;
+    }
+
+    @Benchmark
+    public GetUsersDTO pageAndSortMapperExplicit() {
+        GetUsersDTO getUsersDTO = new GetUsersDTO();
+        PageAndSortMapper.map("42", "50", multiSort, getUsersDTO);
+        return getUsersDTO;
+    }
+
+    @Benchmark
+    public List<?> sorterSingle() {
+        return Sorter.getSortOrder(singleSort);
+    }
+
+    @Benchmark
+    public List<?> sorterMulti() {
+        return Sorter.getSortOrder(multiSort);
+    }
+
+    @Benchmark
+    public Boolean validatorIsInteger() {
+        return Validator.isInteger("12345");
+    }
+
+    @Benchmark
+    public Boolean validatorIsNotInteger() {
+        return Validator.isInteger("12a45");
+    }
+
+}
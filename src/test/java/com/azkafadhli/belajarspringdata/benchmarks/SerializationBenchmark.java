@@ -0,0 +1,63 @@
+package com.azkafadhli.belajarspringdata.benchmarks;
+
+import com.azkafadhli.belajarspringdata.dtos.responses.PaginationDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserListDTO;
+import com.azkafadhli.belajarspringdata.entities.User;
+import com.azkafadhli.belajarspringdata.mappers.UserMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"5", "50", "500"})
+    int pageSize;
+
+    ObjectMapper objectMapper;
+    UserListDTO userListDTO;
+    UserDetailsDTO userDetailsDTO;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+        List<User> users = new ArrayList<>();
+        List<UserDTO> userDTOs = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            User user = BenchmarkData.user(i);
+            users.add(user);
+            userDTOs.add(userMapper.toUserDTO(user));
+        }
+        PaginationDTO paginationDTO = new PaginationDTO(
+                new PageImpl<>(users, PageRequest.of(0, pageSize), pageSize * 10L));
+        userListDTO = new UserListDTO(userDTOs, paginationDTO);
+        userDetailsDTO = userMapper.toUserDetailsDTO(users.get(0));
+    }
+
+    @Benchmark
+    public byte[] userListDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userListDTO);
+    }
+
+    @Benchmark
+    public byte[] userDetailsDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userDetailsDTO);
+    }
+
+}
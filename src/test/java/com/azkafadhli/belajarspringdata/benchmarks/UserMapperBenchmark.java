@@ -0,0 +1,104 @@
+package com.azkafadhli.belajarspringdata.benchmarks;
+
+import com.azkafadhli.belajarspringdata.dtos.requests.RegisterUserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
+import com.azkafadhli.belajarspringdata.entities.User;
+import com.azkafadhli.belajarspringdata.mappers.UserMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// throughput and gc.alloc.rate.norm are reported per mapped user
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    static final int PAGE_SIZE = 100;
+
+    ModelMapper modelMapper;
+    UserMapper userMapper;
+    List<User> users;
+    List<RegisterUserDTO> registrations;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+        userMapper = Mappers.getMapper(UserMapper.class);
+        users = new ArrayList<>();
+        registrations = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            users.add(BenchmarkData.user(i));
+            registrations.add(BenchmarkData.registration(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void modelMapperUserDTO(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(modelMapper.map(user, UserDTO.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void userMapperUserDTO(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(userMapper.toUserDTO(user));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void modelMapperUserDetailsDTO(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(modelMapper.map(user, UserDetailsDTO.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void userMapperUserDetailsDTO(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(userMapper.toUserDetailsDTO(user));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void modelMapperRegisterUser(Blackhole blackhole) {
+        for (RegisterUserDTO registration : registrations) {
+            blackhole.consume(modelMapper.map(registration, User.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public void userMapperRegisterUser(Blackhole blackhole) {
+        for (RegisterUserDTO registration : registrations) {
+            blackhole.consume(userMapper.toUser(registration));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.azkafadhli.belajarspringdata.benchmarks;
+
+import com.azkafadhli.belajarspringdata.dtos.responses.PaginationDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserListDTO;
+import com.azkafadhli.belajarspringdata.entities.User;
+import com.azkafadhli.belajarspringdata.mappers.UserMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// payload size is printed once per trial, since it does not change between iterations
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "smile", "cbor"})
+    String format;
+
+    @Param({"false", "true"})
+    boolean blackbird;
+
+    ObjectMapper objectMapper;
+    UserListDTO userListDTO;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+        List<User> users = new ArrayList<>();
+        List<UserDTO> userDTOs = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User user = BenchmarkData.user(i);
+            users.add(user);
+            userDTOs.add(userMapper.toUserDTO(user));
+        }
+        PaginationDTO paginationDTO = new PaginationDTO(
+                new PageImpl<>(users, PageRequest.of(0, PAGE_SIZE), PAGE_SIZE * 10L));
+        userListDTO = new UserListDTO(userDTOs, paginationDTO);
+
+        System.out.printf("%n%s page of %d users: %d bytes%n", format, PAGE_SIZE, userListDTO().length);
+    }
+
+    @Benchmark
+    public byte[] userListDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userListDTO);
+    }
+
+}
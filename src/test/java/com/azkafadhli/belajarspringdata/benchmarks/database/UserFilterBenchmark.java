@@ -0,0 +1,93 @@
+package com.azkafadhli.belajarspringdata.benchmarks.database;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+// needs a disposable local postgres database: the users table is truncated and reseeded for every table size.
+// the statements mirror what IUserRepositoryCustomImpl generates for each match mode.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserFilterBenchmark {
+
+    static final String URL = env("BENCH_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/bench_belajar_spring_data");
+    static final String USERNAME = env("BENCH_DATASOURCE_USERNAME", "postgres");
+    static final String PASSWORD = env("BENCH_DATASOURCE_PASSWORD", "1234567890");
+
+    static final String SELECT = "select u.id, u.email, u.username from users u where ";
+    static final String PAGE = " order by u.id asc offset 0 rows fetch first 21 rows only";
+
+    @Param({"10000", "100000", "1000000"})
+    int tableSize;
+
+    Connection connection;
+    PreparedStatement exact;
+    PreparedStatement prefix;
+    PreparedStatement contains;
+    int probe = 0;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        Flyway.configure().dataSource(URL, USERNAME, PASSWORD).load().migrate();
+        connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("truncate table user_tags, user_identities, addresses, users");
+            statement.execute("insert into users (id, created_on, updated_on, email, is_enabled, password, username) " +
+                    "select gen_random_uuid(), now(), now(), 'user' || g || '@mail.com', true, 'secret', 'user_' || g " +
+                    "from generate_series(1, " + tableSize + ") g");
+            statement.execute("analyze users");
+        }
+        exact = connection.prepareStatement(SELECT + "u.username = ?" + PAGE);
+        prefix = connection.prepareStatement(SELECT + "lower(u.username) like ?" + PAGE);
+        contains = connection.prepareStatement(SELECT + "lower(u.email) like ?" + PAGE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null ? defaultValue : value;
+    }
+
+    private String nextUser() {
+        probe = probe % tableSize + 1;
+        return String.valueOf(probe);
+    }
+
+    @Benchmark
+    public void exactMatch(Blackhole blackhole) throws SQLException {
+        exact.setString(1, "user_" + nextUser());
+        consume(exact, blackhole);
+    }
+
+    @Benchmark
+    public void prefixMatch(Blackhole blackhole) throws SQLException {
+        prefix.setString(1, "user\\_" + nextUser() + "%");
+        consume(prefix, blackhole);
+    }
+
+    @Benchmark
+    public void containsMatch(Blackhole blackhole) throws SQLException {
+        contains.setString(1, "%r" + nextUser() + "@%");
+        consume(contains, blackhole);
+    }
+
+    private void consume(PreparedStatement statement, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getString(2));
+            }
+        }
+    }
+
+}
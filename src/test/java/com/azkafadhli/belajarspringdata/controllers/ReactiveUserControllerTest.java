@@ -0,0 +1,69 @@
+package com.azkafadhli.belajarspringdata.controllers;
+
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.exceptions.NotFoundException;
+import com.azkafadhli.belajarspringdata.services.IReactiveUserService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@WebMvcTest(controllers = ReactiveUserController.class)
+public class ReactiveUserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IReactiveUserService reactiveUserService;
+
+    @Test
+    public void whenGetUsersAsNdjson_shouldStreamOneLinePerUser() throws Exception {
+        Mockito.when(reactiveUserService.getUsers(Mockito.any()))
+                .thenReturn(Flux.just(user("alice"), user("bob")));
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders
+                        .get("/api/v2/users")
+                        .accept(MediaType.APPLICATION_NDJSON)
+        ).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"id\":\"alice\",\"email\":\"alice@mail.com\",\"username\":\"alice\"}\n"
+                                + "{\"id\":\"bob\",\"email\":\"bob@mail.com\",\"username\":\"bob\"}\n"));
+    }
+
+    @Test
+    public void whenGetUnknownUser_shouldReturnNotFound() throws Exception {
+        Mockito.when(reactiveUserService.getUserById(Mockito.any()))
+                .thenReturn(Mono.error(new NotFoundException("user not found")));
+
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/api/v2/users/" + UUID.randomUUID())
+        ).andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private static UserDTO user(String name) {
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(name);
+        userDTO.setEmail(name + "@mail.com");
+        userDTO.setUsername(name);
+        return userDTO;
+    }
+
+}
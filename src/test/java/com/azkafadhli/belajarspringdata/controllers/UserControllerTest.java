@@ -0,0 +1,102 @@
+package com.azkafadhli.belajarspringdata.controllers;
+
+import com.azkafadhli.belajarspringdata.dtos.responses.AuditDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDetailsDTO;
+import com.azkafadhli.belajarspringdata.services.IUserService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@WebMvcTest(controllers = UserController.class)
+public class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IUserService userService;
+
+    @Test
+    public void whenGetUserWithMatchingEtag_shouldReturnNotModifiedWithoutLoadingDetails() throws Exception {
+        UUID id = UUID.randomUUID();
+        LocalDateTime version = LocalDateTime.of(2024, 5, 1, 10, 0, 0, 123456000);
+        Mockito.when(userService.getLastModified(id)).thenReturn(version);
+        Mockito.when(userService.getUserById(id, version)).thenReturn(userDetails(version));
+
+        MvcResult first = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/" + id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(MockMvcResultMatchers.header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().stringValues(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        Mockito.verify(userService, Mockito.times(1)).getUserById(id, version);
+    }
+
+    @Test
+    public void whenGetUserModifiedSinceGivenDate_shouldReturnNotModifiedOnlyOnceUnchanged() throws Exception {
+        UUID id = UUID.randomUUID();
+        LocalDateTime version = LocalDateTime.of(2024, 5, 1, 10, 0, 0);
+        Mockito.when(userService.getLastModified(id)).thenReturn(version);
+        Mockito.when(userService.getUserById(id, version)).thenReturn(userDetails(version));
+
+        String lastModified = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/" + id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/" + id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        LocalDateTime updated = version.plusSeconds(1);
+        Mockito.when(userService.getLastModified(id)).thenReturn(updated);
+        Mockito.when(userService.getUserById(id, updated)).thenReturn(userDetails(updated));
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/" + id).header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    public void whenUserChangesBetweenLookupAndLoad_shouldSendValidatorsOfServedDetails() throws Exception {
+        UUID id = UUID.randomUUID();
+        LocalDateTime version = LocalDateTime.of(2024, 5, 1, 10, 0, 0);
+        LocalDateTime served = version.plusSeconds(1);
+        Mockito.when(userService.getLastModified(id)).thenReturn(version);
+        Mockito.when(userService.getUserById(id, version)).thenReturn(userDetails(served));
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/" + id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        Mockito.when(userService.getLastModified(id)).thenReturn(served);
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/" + id).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+
+    private static UserDetailsDTO userDetails(LocalDateTime updatedOn) {
+        AuditDTO audit = new AuditDTO();
+        audit.setCreatedOn(updatedOn);
+        audit.setUpdatedOn(updatedOn);
+        UserDetailsDTO user = new UserDetailsDTO();
+        user.setAudit(audit);
+        return user;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.azkafadhli.belajarspringdata.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final ReadYourWrites readYourWrites = new ReadYourWrites(Duration.ofSeconds(2));
+
+    private ReplicaRoutingDataSource routing(ReplicaDataSourceProperties.Balancing balancing, HikariDataSource... replicas) {
+        return new ReplicaRoutingDataSource(mock(HikariDataSource.class), List.of(replicas), balancing, readYourWrites);
+    }
+
+    private void transaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        readYourWrites.end();
+    }
+
+    @Test
+    void whenReadOnlyTransaction_shouldRoundRobinOverReplicas() {
+        ReplicaRoutingDataSource routing = routing(
+                ReplicaDataSourceProperties.Balancing.ROUND_ROBIN,
+                mock(HikariDataSource.class), mock(HikariDataSource.class));
+        transaction(true);
+
+        assertEquals(0, routing.determineCurrentLookupKey());
+        assertEquals(1, routing.determineCurrentLookupKey());
+        assertEquals(0, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void whenLeastConnections_shouldPickLeastBusyReplica() {
+        HikariDataSource busy = mock(HikariDataSource.class);
+        HikariPoolMXBean busyPool = mock(HikariPoolMXBean.class);
+        when(busy.getHikariPoolMXBean()).thenReturn(busyPool);
+        when(busyPool.getActiveConnections()).thenReturn(5);
+        HikariDataSource idle = mock(HikariDataSource.class);
+        HikariPoolMXBean idlePool = mock(HikariPoolMXBean.class);
+        when(idle.getHikariPoolMXBean()).thenReturn(idlePool);
+        when(idlePool.getActiveConnections()).thenReturn(1);
+        ReplicaRoutingDataSource routing = routing(ReplicaDataSourceProperties.Balancing.LEAST_CONNECTIONS, busy, idle);
+        transaction(true);
+
+        assertEquals(1, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void whenReadWriteTransactionOrNoTransaction_shouldRouteToPrimary() {
+        ReplicaRoutingDataSource routing = routing(
+                ReplicaDataSourceProperties.Balancing.ROUND_ROBIN, mock(HikariDataSource.class));
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+        transaction(false);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void whenReadAfterWrite_shouldStayOnPrimaryWithinWindow() {
+        ReplicaRoutingDataSource routing = routing(
+                ReplicaDataSourceProperties.Balancing.ROUND_ROBIN, mock(HikariDataSource.class));
+        transaction(false);
+        routing.determineCurrentLookupKey();
+
+        transaction(true);
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void whenPrimaryReadRequested_shouldRouteReadOnlyTransactionToPrimary() {
+        ReplicaRoutingDataSource routing = routing(
+                ReplicaDataSourceProperties.Balancing.ROUND_ROBIN, mock(HikariDataSource.class));
+        transaction(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, PrimaryReads.call(routing::determineCurrentLookupKey));
+        assertEquals(0, routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    void whenWriteWithoutReplicas_shouldNotPinClient() {
+        ReplicaRoutingDataSource routing = routing(ReplicaDataSourceProperties.Balancing.ROUND_ROBIN);
+        transaction(false);
+        routing.determineCurrentLookupKey();
+
+        assertFalse(readYourWrites.isPinned());
+    }
+
+    @Test
+    void whenNoReplicas_shouldRouteReadsToPrimary() {
+        ReplicaRoutingDataSource routing = routing(ReplicaDataSourceProperties.Balancing.ROUND_ROBIN);
+        transaction(true);
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.azkafadhli.belajarspringdata.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+// needs two local postgres instances: the test database on 5432 and a second instance on 5433 holding the same
+// database, e.g. a streaming standby of it. the replica profile points at 5433, the properties swap in the test database
+@SpringBootTest(properties = {
+        "app.datasource.replicas[0].url=jdbc:postgresql://localhost:5433/test_belajar_spring_data",
+        "app.datasource.replicas[0].username=postgres",
+        "app.datasource.replicas[0].password=1234567890"
+})
+@ActiveProfiles({"test", "replica"})
+public class ReplicaRoutingTest {
+
+    private static final int PRIMARY_PORT = 5432;
+    private static final int REPLICA_PORT = 5433;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @AfterEach
+    public void tearDown() {
+        readYourWrites.end();
+    }
+
+    @Test
+    public void whenReadOnlyTransaction_shouldBeServedByReplica() {
+        Assertions.assertEquals(REPLICA_PORT, inTransaction(true, this::serverPort));
+    }
+
+    @Test
+    public void whenReadWriteTransaction_shouldBeServedByPrimary() {
+        Assertions.assertEquals(PRIMARY_PORT, inTransaction(false, this::serverPort));
+    }
+
+    @Test
+    public void whenReadingRightAfterWrite_shouldStayOnPrimary() {
+        inTransaction(false, this::serverPort);
+
+        Assertions.assertEquals(PRIMARY_PORT, inTransaction(true, this::serverPort));
+    }
+
+    @Test
+    public void whenPrimaryReadRequested_shouldBeServedByPrimaryInReadOnlyTransaction() {
+        Assertions.assertEquals(PRIMARY_PORT, inTransaction(true, () -> PrimaryReads.call(this::serverPort)));
+    }
+
+    private Integer inTransaction(boolean readOnly, Supplier<Integer> work) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private Integer serverPort() {
+        return jdbcTemplate.queryForObject("SELECT inet_server_port()", Integer.class);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.azkafadhli.belajarspringdata.entities;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+
+public class AuthorityMaskConverterTest {
+
+    private final AuthorityMaskConverter converter = new AuthorityMaskConverter();
+
+    @Test
+    public void whenConvertThenConvertBack_shouldKeepAuthorities() {
+        Set<Authority> authorities = EnumSet.of(Authority.READ, Authority.DELETE);
+
+        Short mask = converter.convertToDatabaseColumn(authorities);
+
+        Assertions.assertEquals((short) 9, mask);
+        Assertions.assertEquals(authorities, converter.convertToEntityAttribute(mask));
+    }
+
+    @Test
+    public void whenListMasksContainingAuthority_shouldListEveryMaskWithItsBit() {
+        Assertions.assertEquals(
+                List.of((short) 4, (short) 5, (short) 6, (short) 7, (short) 12, (short) 13, (short) 14, (short) 15),
+                AuthorityMaskConverter.masksContaining(Authority.UPDATE));
+    }
+
+}
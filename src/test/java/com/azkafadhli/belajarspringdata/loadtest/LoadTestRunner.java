@@ -0,0 +1,249 @@
+package com.azkafadhli.belajarspringdata.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// usage: LoadTestRunner [key=value ...], see DEFAULTS for the keys
+// drives a running application (started with the loadtest profile, which seeds the database) with a closed-loop
+// workload: every worker sends its next request as soon as the previous one returns
+public class LoadTestRunner {
+
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "base-url", "http://localhost:8080",
+            "concurrency", "32",
+            "warmup", "PT10S",
+            "duration", "PT60S",
+            "mix", "list=70,detail=25,register=5",
+            "list-pages", "20",
+            "list-limit", "50",
+            "result", "target/loadtest/result.json"
+    );
+
+    enum Operation { LIST, DETAIL, REGISTER }
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final AtomicLong REGISTRATIONS = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length == 2 && !option[1].isBlank()) {
+                options.put(option[0], option[1]);
+            }
+        }
+        String baseUrl = options.get("base-url");
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        Duration warmup = Duration.parse(options.get("warmup"));
+        Duration duration = Duration.parse(options.get("duration"));
+        Map<Operation, Integer> mix = parseMix(options.get("mix"));
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<String> ids = loadIds(client, baseUrl);
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("no users found, start the application with the loadtest profile first");
+        }
+        Workload workload = new Workload(client, baseUrl, ids, mix, runId,
+                Integer.parseInt(options.get("list-pages")), Integer.parseInt(options.get("list-limit")));
+
+        System.out.printf("warming up for %s with %d workers%n", warmup, concurrency);
+        run(workload, concurrency, warmup);
+        System.out.printf("measuring for %s with %d workers%n", duration, concurrency);
+        Instant start = Instant.now();
+        List<Recorder> recorders = run(workload, concurrency, duration);
+        double seconds = Duration.between(start, Instant.now()).toNanos() / 1e9;
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("started_at", start.toString());
+        report.put("options", new TreeMap<>(options));
+        report.put("elapsed_seconds", seconds);
+        Map<String, Object> operations = new LinkedHashMap<>();
+        Recorder total = new Recorder();
+        for (Operation operation : Operation.values()) {
+            Recorder merged = new Recorder();
+            recorders.forEach(recorder -> merged.addAll(recorder, operation));
+            total.addAll(merged, operation);
+            if (merged.count(operation) > 0) {
+                operations.put(operation.name().toLowerCase(), merged.summary(operation, seconds));
+            }
+        }
+        report.put("operations", operations);
+        report.put("total", total.summary(null, seconds));
+
+        File result = new File(options.get("result"));
+        result.getAbsoluteFile().getParentFile().mkdirs();
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(result, report);
+        System.out.println(OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        System.out.println("written to " + result.getPath());
+    }
+
+    private static List<Recorder> run(Workload workload, int concurrency, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Recorder>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    Recorder recorder = new Recorder();
+                    while (System.nanoTime() < deadline) {
+                        workload.next(recorder);
+                    }
+                    return recorder;
+                }));
+            }
+            List<Recorder> recorders = new ArrayList<>(concurrency);
+            for (Future<Recorder> future : futures) {
+                recorders.add(future.get());
+            }
+            return recorders;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static List<String> loadIds(HttpClient client, String baseUrl) throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users?limit=1000&total=none")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<String> ids = new ArrayList<>();
+        for (JsonNode user : OBJECT_MAPPER.readTree(response.body()).path("data")) {
+            ids.add(user.path("id").asText());
+        }
+        return ids;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String weight : value.split(",")) {
+            String[] pair = weight.split("=", 2);
+            mix.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    private record Workload(HttpClient client, String baseUrl, List<String> ids, Map<Operation, Integer> mix,
+                            String runId, int listPages, int listLimit) {
+
+        void next(Recorder recorder) {
+            Operation operation = pick();
+            HttpRequest request = request(operation);
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                failed = status >= 400;
+            } catch (Exception e) {
+                failed = true;
+            }
+            recorder.record(operation, System.nanoTime() - start, failed);
+        }
+
+        private Operation pick() {
+            int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+            int point = ThreadLocalRandom.current().nextInt(total);
+            for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+                point -= weight.getValue();
+                if (point < 0) {
+                    return weight.getKey();
+                }
+            }
+            throw new IllegalStateException("empty mix");
+        }
+
+        private HttpRequest request(Operation operation) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return switch (operation) {
+                case LIST -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users?page="
+                        + (1 + random.nextInt(listPages)) + "&limit=" + listLimit)).GET().build();
+                case DETAIL -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/"
+                        + ids.get(random.nextInt(ids.size())))).GET().build();
+                case REGISTER -> {
+                    String username = "lt_" + runId + "_" + REGISTRATIONS.incrementAndGet();
+                    String body = "{\"email\":\"" + username + "@mail.com\",\"username\":\"" + username
+                            + "\",\"password\":\"Secret#123a\"}";
+                    yield HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/register"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                }
+            };
+        }
+    }
+
+    // one per worker, merged after the run, so recording never contends
+    private static class Recorder {
+
+        private final Map<Operation, long[]> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        private final Map<Operation, Integer> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean failed) {
+            int count = counts.getOrDefault(operation, 0);
+            long[] values = latencies.computeIfAbsent(operation, key -> new long[1024]);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = nanos;
+            counts.put(operation, count + 1);
+            if (failed) {
+                errors.merge(operation, 1, Integer::sum);
+            }
+        }
+
+        void addAll(Recorder other, Operation operation) {
+            long[] values = other.latencies.getOrDefault(operation, new long[0]);
+            for (int i = 0; i < other.count(operation); i++) {
+                record(operation, values[i], false);
+            }
+            errors.merge(operation, other.errors.getOrDefault(operation, 0), Integer::sum);
+        }
+
+        int count(Operation operation) {
+            return counts.getOrDefault(operation, 0);
+        }
+
+        // operation null summarizes everything recorded
+        Map<String, Object> summary(Operation operation, double seconds) {
+            long[] values = (operation == null ? counts.keySet() : Set.of(operation)).stream()
+                    .flatMapToLong(key -> Arrays.stream(latencies.get(key), 0, count(key)))
+                    .sorted()
+                    .toArray();
+            int failed = (operation == null ? errors.keySet() : Set.of(operation)).stream()
+                    .mapToInt(key -> errors.getOrDefault(key, 0))
+                    .sum();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("requests", values.length);
+            summary.put("errors", failed);
+            summary.put("throughput_per_second", values.length / seconds);
+            summary.put("p50_ms", percentile(values, 0.50));
+            summary.put("p95_ms", percentile(values, 0.95));
+            summary.put("p99_ms", percentile(values, 0.99));
+            summary.put("max_ms", values.length == 0 ? 0 : values[values.length - 1] / 1e6);
+            return summary;
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+
+}
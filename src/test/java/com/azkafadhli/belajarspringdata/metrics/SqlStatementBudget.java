@@ -0,0 +1,64 @@
+package com.azkafadhli.belajarspringdata.metrics;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+// usage: SqlStatementBudget.of(counter).selects(2).verify(() -> userService.getUserById(id, version));
+// only statements issued on the calling thread are counted, which covers service calls and MockMvc requests; work
+// handed off to another thread is invisible, so pin the statements a budget relies on with atLeast
+public class SqlStatementBudget {
+
+    private final SqlStatementCounter counter;
+    private final Map<SqlStatementCounter.Kind, Long> limits = new EnumMap<>(SqlStatementCounter.Kind.class);
+    private final Map<SqlStatementCounter.Kind, Long> minimums = new EnumMap<>(SqlStatementCounter.Kind.class);
+
+    private SqlStatementBudget(SqlStatementCounter counter) {
+        this.counter = counter;
+    }
+
+    public static SqlStatementBudget of(SqlStatementCounter counter) {
+        return new SqlStatementBudget(counter);
+    }
+
+    public SqlStatementBudget selects(long max) {
+        limits.put(SqlStatementCounter.Kind.SELECT, max);
+        return this;
+    }
+
+    public SqlStatementBudget inserts(long max) {
+        limits.put(SqlStatementCounter.Kind.INSERT, max);
+        return this;
+    }
+
+    public SqlStatementBudget updates(long max) {
+        limits.put(SqlStatementCounter.Kind.UPDATE, max);
+        return this;
+    }
+
+    public SqlStatementBudget deletes(long max) {
+        limits.put(SqlStatementCounter.Kind.DELETE, max);
+        return this;
+    }
+
+    public SqlStatementBudget atLeast(SqlStatementCounter.Kind kind, long min) {
+        minimums.put(kind, min);
+        return this;
+    }
+
+    public <T> T verify(Callable<T> action) throws Exception {
+        counter.reset();
+        T result = action.call();
+        limits.forEach((kind, max) -> Assertions.assertTrue(
+                counter.count(kind) <= max,
+                "expected at most " + max + " " + kind + " statements but was " + counter.count(kind)));
+        minimums.forEach((kind, min) -> Assertions.assertTrue(
+                counter.count(kind) >= min,
+                "expected at least " + min + " " + kind + " statements but was " + counter.count(kind)));
+        counter.reset();
+        return result;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.constants.MatchMode;
+import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
+import com.azkafadhli.belajarspringdata.dtos.requests.RegisterUserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserDTO;
+import com.azkafadhli.belajarspringdata.exceptions.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// runs the R2DBC path against the test database from application-test.yml; rows are written through the JPA path,
+// every one of them uses the "reactive_" prefix
+@SpringBootTest(properties = "app.password-hashing.bcrypt-strength=4")
+@ActiveProfiles("test")
+public class ReactiveUserServiceTest {
+
+    private static final String PREFIX = "reactive_";
+
+    @Autowired
+    private IReactiveUserService reactiveUserService;
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void seed() {
+        cleanUp();
+        List<RegisterUserDTO> registrations = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            RegisterUserDTO registration = new RegisterUserDTO();
+            registration.setUsername(PREFIX + i);
+            registration.setEmail(PREFIX + i + "@mail.com");
+            registration.setPassword("Secret#123a");
+            registrations.add(registration);
+        }
+        userService.addUsers(registrations);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        String owned = "SELECT id FROM users WHERE username LIKE '" + PREFIX + "%'";
+        jdbcTemplate.update("DELETE FROM addresses WHERE user_id IN (" + owned + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE '" + PREFIX + "%'");
+    }
+
+    @Test
+    public void whenGetUsersByUsernamePrefix_shouldEmitMatchingUsersInSortOrder() {
+        GetUsersDTO getUsersDTO = new GetUsersDTO();
+        getUsersDTO.setPage(0);
+        getUsersDTO.setLimit(10);
+        getUsersDTO.setSort(new String[]{"username,desc"});
+        getUsersDTO.setUsername(PREFIX);
+        getUsersDTO.setMatch(MatchMode.PREFIX);
+
+        StepVerifier.create(reactiveUserService.getUsers(getUsersDTO).map(UserDTO::getUsername))
+                .expectNext(PREFIX + 2, PREFIX + 1, PREFIX + 0)
+                .verifyComplete();
+    }
+
+    @Test
+    public void whenGetUserById_shouldCombineUserAndAddresses() {
+        UUID id = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", UUID.class, PREFIX + 0);
+        jdbcTemplate.update("INSERT INTO addresses (id, address, user_id) VALUES (nextval('addresses_seq'), 'first', ?)", id);
+
+        StepVerifier.create(reactiveUserService.getUserById(id))
+                .assertNext(userDetailsDTO -> {
+                    Assertions.assertEquals(PREFIX + 0, userDetailsDTO.getUsername());
+                    Assertions.assertEquals(1, userDetailsDTO.getAddresses().size());
+                    Assertions.assertNull(userDetailsDTO.getUserIdentity());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void whenGetUnknownUser_shouldFailWithNotFound() {
+        StepVerifier.create(reactiveUserService.getUserById(UUID.randomUUID()))
+                .expectError(NotFoundException.class)
+                .verify();
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.constants.TotalMode;
+import com.azkafadhli.belajarspringdata.dtos.requests.GetUsersDTO;
+import com.azkafadhli.belajarspringdata.dtos.requests.RegisterUserDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.BatchRegistrationDTO;
+import com.azkafadhli.belajarspringdata.dtos.responses.UserListDTO;
+import com.azkafadhli.belajarspringdata.metrics.SqlStatementBudget;
+import com.azkafadhli.belajarspringdata.metrics.SqlStatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// runs against the test database from application-test.yml; every row it creates uses the "budget_" prefix
+@SpringBootTest(properties = "app.password-hashing.bcrypt-strength=4")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserServiceStatementBudgetTest {
+
+    private static final String PREFIX = "budget_";
+
+    @Autowired
+    private IUserService userService;
+
+    @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void seed() {
+        cleanUp();
+        userService.addUsers(registrations("seed", 60));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        String owned = "SELECT id FROM users WHERE username LIKE '" + PREFIX + "%'";
+        jdbcTemplate.update("DELETE FROM addresses WHERE user_id IN (" + owned + ")");
+        jdbcTemplate.update("DELETE FROM user_identities WHERE user_id IN (" + owned + ")");
+        jdbcTemplate.update("DELETE FROM user_tags WHERE user_id IN (" + owned + ")");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE '" + PREFIX + "%'");
+    }
+
+    @Test
+    public void whenGetUsersPageOf50_shouldUseAtMost2Selects() throws Exception {
+        GetUsersDTO getUsersDTO = new GetUsersDTO();
+        getUsersDTO.setPage(0);
+        getUsersDTO.setLimit(50);
+        getUsersDTO.setSort(new String[]{"email,asc"});
+        getUsersDTO.setTotal(TotalMode.EXACT);
+
+        UserListDTO users = SqlStatementBudget.of(sqlStatementCounter)
+                .selects(2)
+                .verify(() -> userService.getUsers(getUsersDTO));
+
+        Assertions.assertEquals(50, ((List<?>) users.getData()).size());
+    }
+
+    @Test
+    public void whenGetUserDetails_shouldUseExactly2Selects() throws Exception {
+        UUID id = jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE username = ?", UUID.class, PREFIX + "seed_0");
+        jdbcTemplate.update("INSERT INTO addresses (id, address, user_id) VALUES (nextval('addresses_seq'), 'first', ?)", id);
+        jdbcTemplate.update("INSERT INTO addresses (id, address, user_id) VALUES (nextval('addresses_seq'), 'second', ?)", id);
+        jdbcTemplate.update("INSERT INTO user_identities (user_id, nik, first_name) VALUES (?, '1234567890123456', 'budget')", id);
+
+        // the updated_on lookup and the entity-graph load; the lower bound fails if the load stops being counted
+        SqlStatementBudget.of(sqlStatementCounter)
+                .selects(2)
+                .atLeast(SqlStatementCounter.Kind.SELECT, 2)
+                .verify(() -> mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/users/" + id))
+                        .andExpect(MockMvcResultMatchers.status().isOk()));
+    }
+
+    @Test
+    public void whenRegisterBatchOf20_shouldUseOneLookupAndOneBatchedInsert() throws Exception {
+        BatchRegistrationDTO result = SqlStatementBudget.of(sqlStatementCounter)
+                .selects(1)
+                .inserts(1)
+                .updates(0)
+                .verify(() -> userService.addUsers(registrations("batch", 20)));
+
+        Assertions.assertEquals(20, result.getRegistered());
+    }
+
+    private static List<RegisterUserDTO> registrations(String group, int count) {
+        List<RegisterUserDTO> registrations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            RegisterUserDTO registration = new RegisterUserDTO();
+            registration.setUsername(PREFIX + group + "_" + i);
+            registration.setEmail(PREFIX + group + "_" + i + "@mail.com");
+            registration.setPassword("Secret#123a");
+            registrations.add(registration);
+        }
+        return registrations;
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.azkafadhli.belajarspringdata.services;
+
+import com.azkafadhli.belajarspringdata.constants.TagMatch;
+import com.azkafadhli.belajarspringdata.repositories.ITagRepository;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserTag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+
+public class UserTagIndexTest {
+
+    private final UUID alice = UUID.randomUUID();
+    private final UUID bob = UUID.randomUUID();
+    private final UUID carol = UUID.randomUUID();
+
+    private UserTagIndex userTagIndex;
+
+    @BeforeEach
+    public void warmUp() {
+        userTagIndex = new UserTagIndex();
+        userTagIndex.tagRepository = Mockito.mock(ITagRepository.class);
+        Mockito.when(userTagIndex.tagRepository.streamUserTags()).thenReturn(Stream.of(
+                new UserTag(alice, "java"), new UserTag(alice, "sql"),
+                new UserTag(bob, "java"),
+                new UserTag(carol, "sql")));
+        userTagIndex.warmUp();
+    }
+
+    @Test
+    public void whenMatchAll_shouldReturnUsersHavingEveryTag() {
+        Assertions.assertEquals(Set.of(alice), users(userTagIndex.match(List.of("java", "sql"), TagMatch.ALL)));
+        Assertions.assertEquals(Set.of(), users(userTagIndex.match(List.of("java", "unknown"), TagMatch.ALL)));
+    }
+
+    @Test
+    public void whenMatchAny_shouldReturnUsersHavingSomeTag() {
+        Assertions.assertEquals(Set.of(alice, bob, carol), users(userTagIndex.match(List.of("java", "sql", "unknown"), TagMatch.ANY)));
+    }
+
+    @Test
+    public void whenTagsAdded_shouldBeVisibleToLaterMatches() {
+        UUID dave = UUID.randomUUID();
+        userTagIndex.add(dave, List.of("java", "sql"));
+
+        Assertions.assertEquals(Set.of(alice, dave), users(userTagIndex.match(List.of("java", "sql"), TagMatch.ALL)));
+    }
+
+    @Test
+    public void whenPaging_shouldCutPagesInPostgresUuidOrder() {
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID high = UUID.fromString("ffffffff-0000-0000-0000-000000000001");
+        userTagIndex.add(high, List.of("kotlin"));
+        userTagIndex.add(low, List.of("kotlin"));
+        RoaringBitmap matched = userTagIndex.match(List.of("kotlin"), TagMatch.ANY);
+
+        Assertions.assertEquals(List.of(low), userTagIndex.page(matched, 0, 1));
+        Assertions.assertEquals(List.of(high), userTagIndex.page(matched, 1, 1));
+        Assertions.assertEquals(List.of(), userTagIndex.page(matched, 2, 1));
+    }
+
+    @Test
+    public void whenReloaded_shouldPickUpAssignmentsMadeElsewhere() {
+        Mockito.when(userTagIndex.tagRepository.streamUserTags()).thenReturn(Stream.of(
+                new UserTag(alice, "java"),
+                new UserTag(bob, "java"), new UserTag(bob, "sql")));
+        userTagIndex.warmUp();
+
+        Assertions.assertEquals(Set.of(bob), users(userTagIndex.match(List.of("java", "sql"), TagMatch.ALL)));
+        Assertions.assertEquals(Set.of(bob), users(userTagIndex.match(List.of("sql"), TagMatch.ANY)));
+    }
+
+    private Set<UUID> users(RoaringBitmap bitmap) {
+        return new HashSet<>(userTagIndex.page(bitmap, 0, Integer.MAX_VALUE));
+    }
+
+}
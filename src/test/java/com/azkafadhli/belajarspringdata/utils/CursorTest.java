@@ -0,0 +1,31 @@
+package com.azkafadhli.belajarspringdata.utils;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import com.azkafadhli.belajarspringdata.repositories.projections.UserSummary;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.UUID;
+
+
+public class CursorTest {
+
+    @Test
+    public void whenEncodeThenDecode_shouldKeepSortKeyAndId() {
+        UserSummary user = new UserSummary(UUID.randomUUID(), "john,doe@mail.com", "john_doe");
+
+        Cursor cursor = Cursor.decode(Cursor.of(Sort.Order.desc("email"), user).encode());
+
+        Assertions.assertEquals("email", cursor.getProperty());
+        Assertions.assertEquals(Sort.Direction.DESC, cursor.getDirection());
+        Assertions.assertEquals(user.id(), cursor.getId());
+        Assertions.assertEquals(user.email(), cursor.getValue());
+    }
+
+    @Test
+    public void whenDecodeMalformedToken_shouldThrowBadRequest() {
+        Assertions.assertThrows(BadRequestException.class, () -> Cursor.decode("not-a-cursor"));
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.azkafadhli.belajarspringdata.utils;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+
+public class SortPlannerTest {
+
+    @Test
+    public void whenSortByUnindexedProperty_shouldThrowBadRequest() {
+        Assertions.assertThrows(BadRequestException.class, () -> SortPlanner.plan(new String[]{"email,asc", "password,desc"}));
+    }
+
+    @Test
+    public void whenSortByCreatedOn_shouldAppendIdTiebreaker() {
+        Sort sort = SortPlanner.plan(new String[]{"createdOn", "desc"});
+
+        Assertions.assertEquals(Sort.by(Sort.Order.desc("audit.createdOn"), Sort.Order.desc("id")), sort);
+    }
+
+    @Test
+    public void whenSortByUniqueProperty_shouldDropOrdersNoIndexServes() {
+        Sort sort = SortPlanner.plan(new String[]{"username,desc", "email,asc"});
+
+        Assertions.assertEquals(Sort.by(Sort.Order.desc("username")), sort);
+    }
+
+    @Test
+    public void whenSortHasNoDirection_shouldDefaultToAscending() {
+        Assertions.assertEquals(Sort.by(Sort.Order.asc("email")), SortPlanner.plan(new String[]{"email"}));
+        Assertions.assertEquals(Sort.by(Sort.Order.asc("email")), SortPlanner.plan(new String[]{"email,"}));
+    }
+
+}
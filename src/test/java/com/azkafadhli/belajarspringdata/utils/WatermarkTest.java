@@ -0,0 +1,28 @@
+package com.azkafadhli.belajarspringdata.utils;
+
+import com.azkafadhli.belajarspringdata.exceptions.BadRequestException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+
+public class WatermarkTest {
+
+    @Test
+    public void whenEncodeThenDecode_shouldKeepTimestampAndId() {
+        Watermark watermark = new Watermark(LocalDateTime.of(2024, 5, 1, 10, 0, 0, 123456000), UUID.randomUUID());
+
+        Watermark decoded = Watermark.decode(watermark.encode());
+
+        Assertions.assertEquals(watermark.getUpdatedOn(), decoded.getUpdatedOn());
+        Assertions.assertEquals(watermark.getId(), decoded.getId());
+    }
+
+    @Test
+    public void whenDecodeMalformedToken_shouldThrowBadRequest() {
+        Assertions.assertThrows(BadRequestException.class, () -> Watermark.decode("bm90LWEtd2F0ZXJtYXJr"));
+    }
+
+}